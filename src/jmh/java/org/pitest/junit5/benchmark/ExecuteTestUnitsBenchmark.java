@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5.benchmark;
+
+import static java.util.Collections.emptyList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.junit5.JUnit5TestUnitFinder;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.NullExecutionListener;
+import org.pitest.testapi.ResultCollector;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
+
+/**
+ * Runs every unit found in a fixture one at a time, as pitest does when testing a mutant.
+ *
+ * The path decides how each unit is run: <code>unit</code> calls the unit itself, which reuses the
+ * shared launcher and the request the unit built on its first run; <code>freshRequest</code> uses a
+ * single launcher but builds a new request, without an engine filter, for each run; and
+ * <code>freshLauncher</code> also creates a new launcher for each run, as the plugin once did.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteTestUnitsBenchmark {
+
+    @Param({"repository", "manyMethods", "deepNested", "dynamicTests", "spock", "cucumber"})
+    public String fixture;
+
+    @Param({"unit", "freshRequest", "freshLauncher"})
+    public String path;
+
+    private Fixtures fixtures;
+
+    private final List<TestUnit> units = new ArrayList<>();
+
+    private Launcher launcher;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixtures = Fixtures.create();
+        JUnit5TestUnitFinder finder = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(),
+                fixtures.settings(new Properties()));
+        for (Class<?> each : fixtures.classes(fixture)) {
+            units.addAll(finder.findTestUnits(each, new NullExecutionListener()));
+        }
+        launcher = LauncherFactory.create();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixtures.close();
+    }
+
+    @Benchmark
+    public void execute(Blackhole blackhole) {
+        ResultCollector collector = new ConsumingResultCollector(blackhole);
+        for (TestUnit each : units) {
+            if ("unit".equals(path)) {
+                each.execute(collector);
+            } else {
+                executeWithFreshRequest("freshLauncher".equals(path) ? LauncherFactory.create() : launcher, each,
+                        collector);
+            }
+        }
+    }
+
+    private static void executeWithFreshRequest(Launcher launcher, TestUnit unit, ResultCollector collector) {
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder
+                .request()
+                .selectors(DiscoverySelectors.selectUniqueId(unit.getDescription().getName()))
+                .build();
+        launcher.execute(request, new TestExecutionListener() {
+            @Override
+            public void executionStarted(TestIdentifier testIdentifier) {
+                collector.notifyStart(new Description(testIdentifier.getUniqueId()));
+            }
+
+            @Override
+            public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+                collector.notifyEnd(new Description(testIdentifier.getUniqueId()), result.getThrowable().orElse(null));
+            }
+        });
+    }
+
+    private static final class ConsumingResultCollector implements ResultCollector {
+        private final Blackhole blackhole;
+
+        ConsumingResultCollector(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void notifyEnd(Description description, Throwable t) {
+            blackhole.consume(description);
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void notifyEnd(Description description) {
+            blackhole.consume(description);
+        }
+
+        @Override
+        public void notifyStart(Description description) {
+            blackhole.consume(description);
+        }
+
+        @Override
+        public void notifySkipped(Description description) {
+            blackhole.consume(description);
+        }
+
+        @Override
+        public boolean shouldExit() {
+            return false;
+        }
+    }
+
+}
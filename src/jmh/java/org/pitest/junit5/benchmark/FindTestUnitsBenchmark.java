@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5.benchmark;
+
+import static java.util.Collections.emptyList;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pitest.junit5.JUnit5Settings;
+import org.pitest.junit5.JUnit5TestUnitFinder;
+import org.pitest.testapi.NullExecutionListener;
+import org.pitest.testapi.TestGroupConfig;
+
+/**
+ * Finds the units in each class of a fixture, by running the tests as pitest does when gathering
+ * coverage, or with discovery alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindTestUnitsBenchmark {
+
+    @Param({"repository", "manyMethods", "deepNested", "dynamicTests", "spock", "cucumber", "mixedEngines"})
+    public String fixture;
+
+    @Param({"false", "true"})
+    public boolean discoveryOnly;
+
+    private Fixtures fixtures;
+
+    private List<Class<?>> classes;
+
+    private JUnit5TestUnitFinder finder;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixtures = Fixtures.create();
+        classes = fixtures.classes(fixture);
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.DISCOVERY_ONLY, String.valueOf(discoveryOnly));
+        finder = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), fixtures.settings(properties));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixtures.close();
+    }
+
+    @Benchmark
+    public void findTestUnits(Blackhole blackhole) {
+        for (Class<?> each : classes) {
+            blackhole.consume(finder.findTestUnits(each, new NullExecutionListener()));
+        }
+    }
+
+}
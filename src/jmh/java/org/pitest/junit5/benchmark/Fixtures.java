@@ -0,0 +1,261 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.pitest.junit5.JUnit5Settings;
+import org.pitest.junit5.cucumber.Glue;
+import org.pitest.junit5.repository.TestClassWithMultiplePassingTests;
+import org.pitest.junit5.repository.TestClassWithNestedAnnotationWithNestedAnnotationAndNestedTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithParameterizedTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithTags;
+import org.pitest.junit5.repository.TestClassWithTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithoutAnnotations;
+import org.pitest.junit5.repository.TestSpecWithDataDrivenFeature;
+import org.pitest.junit5.repository.TestSpecWithMultiplePassingFeatures;
+import org.pitest.reloc.asm.AnnotationVisitor;
+import org.pitest.reloc.asm.ClassWriter;
+import org.pitest.reloc.asm.MethodVisitor;
+import org.pitest.reloc.asm.Opcodes;
+
+/**
+ * The test classes benchmarked, by name. Alongside classes from the test repository, large classes
+ * are generated into a temporary directory: one with many test methods, one with a deep tree of
+ * nested classes, and a Cucumber runner for a feature with many scenarios. The generated classes
+ * are loaded through the thread context class loader, which is where the launcher looks for them.
+ */
+final class Fixtures implements AutoCloseable {
+
+    static final int METHODS = 500;
+
+    static final int NESTED_DEPTH = 10;
+
+    static final int TESTS_PER_NESTED_CLASS = 10;
+
+    static final int SCENARIOS = 200;
+
+    private static final String PACKAGE = "org/pitest/junit5/benchmark/generated/";
+
+    private static final String MANY_METHODS = PACKAGE + "TestClassWithManyMethods";
+
+    private static final String DEEP_NESTED = PACKAGE + "TestClassWithDeepNesting";
+
+    private static final String CUCUMBER = PACKAGE + "RunGeneratedFeatures";
+
+    /**
+     * The fixtures making up mixedEngines, each of which is found by a single engine.
+     */
+    static final Map<String, String> MIXED = new LinkedHashMap<>();
+
+    static {
+        MIXED.put("repository", "junit-jupiter");
+        MIXED.put("spock", "spock");
+        MIXED.put("cucumber", "cucumber");
+    }
+
+    private final Path dir;
+
+    private final URLClassLoader loader;
+
+    private Fixtures(Path dir) throws IOException {
+        this.dir = dir;
+        this.loader = new URLClassLoader(new URL[] {dir.toUri().toURL()}, Fixtures.class.getClassLoader());
+    }
+
+    static Fixtures create() throws IOException {
+        Fixtures fixtures = new Fixtures(Files.createTempDirectory("pitest-junit5-benchmark"));
+        fixtures.generate();
+        Thread.currentThread().setContextClassLoader(fixtures.loader);
+        return fixtures;
+    }
+
+    List<Class<?>> classes(String fixture) {
+        switch (fixture) {
+        case "repository":
+            return Arrays.asList(TestClassWithTestAnnotation.class, TestClassWithMultiplePassingTests.class,
+                    TestClassWithParameterizedTestAnnotation.class, TestClassWithTags.class,
+                    TestClassWithNestedAnnotationWithNestedAnnotationAndNestedTestAnnotation.class);
+        case "manyMethods":
+            return Arrays.asList(load(MANY_METHODS));
+        case "deepNested":
+            return Arrays.asList(load(DEEP_NESTED));
+        case "dynamicTests":
+            return Arrays.asList(TestClassWithDynamicTests.class);
+        case "spock":
+            return Arrays.asList(TestSpecWithMultiplePassingFeatures.class, TestSpecWithDataDrivenFeature.class);
+        case "cucumber":
+            return Arrays.asList(load(CUCUMBER));
+        case "mixedEngines":
+            List<Class<?>> mixed = new ArrayList<>();
+            for (String each : MIXED.keySet()) {
+                mixed.addAll(classes(each));
+            }
+            mixed.add(TestClassWithoutAnnotations.class);
+            return mixed;
+        default:
+            throw new IllegalArgumentException("Unknown fixture " + fixture);
+        }
+    }
+
+    /**
+     * Settings for a run, with the configuration parameters the generated Cucumber runner needs.
+     */
+    JUnit5Settings settings(Properties properties) {
+        Properties all = new Properties();
+        all.putAll(properties);
+        all.setProperty(JUnit5Settings.CONFIGURATION_FILE, dir.resolve("junit-platform.properties").toString());
+        return new JUnit5Settings(all);
+    }
+
+    @Override
+    public void close() throws IOException {
+        loader.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private Class<?> load(String internalName) {
+        try {
+            return Class.forName(internalName.replace('/', '.'), false, loader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void generate() throws IOException {
+        write(MANY_METHODS, testClass(MANY_METHODS, METHODS, new ArrayList<>(), 0));
+
+        List<String> chain = new ArrayList<>();
+        chain.add(DEEP_NESTED);
+        for (int level = 1; level <= NESTED_DEPTH; level++) {
+            chain.add(chain.get(level - 1) + "$Level" + level);
+        }
+        for (int level = 0; level <= NESTED_DEPTH; level++) {
+            write(chain.get(level), testClass(chain.get(level), TESTS_PER_NESTED_CLASS, chain, level));
+        }
+
+        write(CUCUMBER, cucumberRunner());
+        writeFeature();
+        writeConfiguration();
+    }
+
+    /**
+     * A class of test methods, which is the given level of a chain of nested classes. Every class in
+     * a chain declares the inner classes above it and the one directly beneath it, as javac would.
+     */
+    private static byte[] testClass(String name, int tests, List<String> chain, int level) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, "java/lang/Object", null);
+        for (int i = 1; i < chain.size() && i <= level + 1; i++) {
+            cw.visitInnerClass(chain.get(i), chain.get(i - 1), "Level" + i, Opcodes.ACC_PUBLIC);
+        }
+
+        String outer = level == 0 ? null : chain.get(level - 1);
+        if (outer != null) {
+            cw.visitAnnotation("Lorg/junit/jupiter/api/Nested;", true).visitEnd();
+            cw.visitField(Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, "this$0", "L" + outer + ";", null, null)
+                    .visitEnd();
+        }
+
+        String constructor = outer == null ? "()V" : "(L" + outer + ";)V";
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", constructor, null, null);
+        init.visitCode();
+        if (outer != null) {
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitVarInsn(Opcodes.ALOAD, 1);
+            init.visitFieldInsn(Opcodes.PUTFIELD, name, "this$0", "L" + outer + ";");
+        }
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        for (int i = 0; i != tests; i++) {
+            MethodVisitor test = cw.visitMethod(Opcodes.ACC_PUBLIC, "test" + i, "()V", null, null);
+            test.visitAnnotation("Lorg/junit/jupiter/api/Test;", true).visitEnd();
+            test.visitCode();
+            test.visitInsn(Opcodes.RETURN);
+            test.visitMaxs(0, 0);
+            test.visitEnd();
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static byte[] cucumberRunner() {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, CUCUMBER, null, "java/lang/Object", null);
+        AnnotationVisitor cucumber = cw.visitAnnotation("Lio/cucumber/junit/platform/engine/Cucumber;", true);
+        cucumber.visitEnd();
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void writeFeature() throws IOException {
+        try (Writer out = Files.newBufferedWriter(dir.resolve(PACKAGE + "generated.feature"), StandardCharsets.UTF_8)) {
+            out.write("Feature: generated\n");
+            for (int i = 0; i != SCENARIOS; i++) {
+                out.write("\n  Scenario: scenario " + i + "\n");
+                out.write("    Given an initial step\n");
+                out.write("    When an action step\n");
+                out.write("    Then a check step\n");
+            }
+        }
+    }
+
+    private void writeConfiguration() throws IOException {
+        Properties configuration = new Properties();
+        // the generated runner has no steps of its own, so uses those of the repository's feature
+        configuration.setProperty("cucumber.glue", Glue.class.getPackage().getName());
+        try (Writer out = Files.newBufferedWriter(dir.resolve("junit-platform.properties"), StandardCharsets.UTF_8)) {
+            configuration.store(out, null);
+        }
+    }
+
+    private void write(String internalName, byte[] bytes) {
+        Path file = dir.resolve(internalName + ".class");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
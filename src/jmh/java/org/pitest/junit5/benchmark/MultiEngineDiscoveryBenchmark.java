@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Discovers the classes of the mixedEngines fixture one at a time, with Jupiter, Spock, Cucumber
+ * and the suite engine on the classpath, either offering each class to every engine or only to
+ * the engine that owns it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiEngineDiscoveryBenchmark {
+
+    @Param({"false", "true"})
+    public boolean preselectEngines;
+
+    private Fixtures fixtures;
+
+    private Launcher launcher;
+
+    private List<LauncherDiscoveryRequest> requests;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixtures = Fixtures.create();
+        launcher = LauncherFactory.create();
+        requests = new ArrayList<>();
+        for (Map.Entry<String, String> fixture : Fixtures.MIXED.entrySet()) {
+            for (Class<?> each : fixtures.classes(fixture.getKey())) {
+                LauncherDiscoveryRequestBuilder request = LauncherDiscoveryRequestBuilder.request()
+                        .selectors(DiscoverySelectors.selectClass(each.getName()));
+                if (preselectEngines) {
+                    request.filters(EngineFilter.includeEngines(fixture.getValue()));
+                }
+                requests.add(request.build());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixtures.close();
+    }
+
+    @Benchmark
+    public void discover(Blackhole blackhole) {
+        for (LauncherDiscoveryRequest each : requests) {
+            blackhole.consume(launcher.discover(each));
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+/**
+ * Executes requests that may run many tests, cancelling the tests that have not yet started
+ * once the result collector reports that it should exit.
+ *
+ * Cancellation was added in JUnit Platform 6.0. The plugin is built against an earlier version,
+ * and the platform is supplied by the project under test, so the api is reached reflectively.
+ * When it is not available, Jupiter tests are instead disabled by {@link CancelledTestCondition}
+ * once their execution is cancelled, and every test selected from other engines is run.
+ */
+final class CancellableExecution {
+
+    /**
+     * Configuration parameter identifying an execution whose Jupiter tests may be cancelled.
+     */
+    static final String EXECUTION = "pitest.junit5.execution";
+
+    private static final String JUPITER = "junit-jupiter";
+
+    private static final String AUTODETECTION = "junit.jupiter.extensions.autodetection.enabled";
+
+    private static final String EXTENSION_SERVICES = "META-INF/services/org.junit.jupiter.api.extension.Extension";
+
+    private static final String CONDITION = "org.pitest.junit5.CancelledTestCondition";
+
+    private static final CancellationApi API = CancellationApi.find();
+
+    private static final AtomicLong EXECUTIONS = new AtomicLong();
+
+    private static final Set<String> CANCELLED = ConcurrentHashMap.newKeySet();
+
+    private static volatile Boolean onlyConditionAutodetected;
+
+    private CancellableExecution() {
+    }
+
+    static boolean isSupported() {
+        return API != null;
+    }
+
+    static boolean isCancelled(String execution) {
+        return CANCELLED.contains(execution);
+    }
+
+    /**
+     * Builds a request whose tests can be cancelled. Without platform support this is only possible
+     * for Jupiter, by enabling its extension auto-detection so that {@link CancelledTestCondition}
+     * is registered. Auto-detection is not enabled if it would also register other extensions,
+     * which would then apply to the tests when run against mutants but not while finding them.
+     *
+     * @param engine id of the engine the request selects tests from
+     */
+    static LauncherDiscoveryRequest request(LauncherDiscoveryRequestBuilder builder, String engine) {
+        LauncherDiscoveryRequest request = builder.build();
+        if (API != null || !JUPITER.equals(engine)) {
+            return request;
+        }
+        boolean autodetecting = request.getConfigurationParameters().getBoolean(AUTODETECTION).orElse(false);
+        if (!autodetecting && !onlyConditionAutodetected()) {
+            return request;
+        }
+        return builder
+                .configurationParameter(AUTODETECTION, "true")
+                .configurationParameter(EXECUTION, Long.toString(EXECUTIONS.incrementAndGet()))
+                .build();
+    }
+
+    /**
+     * @param others further listeners to notify of the tests run
+     */
+    static void execute(Launcher launcher, LauncherDiscoveryRequest request, ResultCollector resultCollector,
+                        Function<String, Description> descriptions, TestExecutionListener... others) {
+        if (API == null) {
+            String execution = request.getConfigurationParameters().get(EXECUTION).orElse(null);
+            if (execution == null) {
+                launcher.execute(request,
+                        withOthers(new ResultCollectorListener(resultCollector, descriptions), others));
+                return;
+            }
+            try {
+                launcher.execute(request, withOthers(new ResultCollectorListener(resultCollector, descriptions,
+                        () -> CANCELLED.add(execution)), others));
+            } finally {
+                CANCELLED.remove(execution);
+            }
+            return;
+        }
+
+        Object token = API.createToken();
+        TestExecutionListener listener = new ResultCollectorListener(resultCollector, descriptions,
+                () -> API.cancel(token));
+        API.execute(launcher, request, withOthers(listener, others), token);
+    }
+
+    private static TestExecutionListener[] withOthers(TestExecutionListener listener, TestExecutionListener[] others) {
+        TestExecutionListener[] all = new TestExecutionListener[others.length + 1];
+        all[0] = listener;
+        System.arraycopy(others, 0, all, 1, others.length);
+        return all;
+    }
+
+    private static boolean onlyConditionAutodetected() {
+        Boolean only = onlyConditionAutodetected;
+        if (only == null) {
+            only = onlyConditionIn(Launcher.class.getClassLoader());
+            onlyConditionAutodetected = only;
+        }
+        return only;
+    }
+
+    private static boolean onlyConditionIn(ClassLoader loader) {
+        try {
+            Enumeration<URL> services = loader.getResources(EXTENSION_SERVICES);
+            while (services.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(services.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        String service = line.replaceAll("#.*", "").trim();
+                        if (!service.isEmpty() && !service.equals(CONDITION)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static final class CancellationApi {
+        private final Method createToken;
+        private final Method cancel;
+        private final Method request;
+        private final Method listeners;
+        private final Method cancellationToken;
+        private final Method build;
+        private final Method execute;
+
+        private CancellationApi(ClassLoader loader) throws ReflectiveOperationException {
+            Class<?> token = Class.forName("org.junit.platform.engine.CancellationToken", false, loader);
+            Class<?> builder = Class.forName("org.junit.platform.launcher.core.LauncherExecutionRequestBuilder",
+                    false, loader);
+            Class<?> executionRequest = Class.forName("org.junit.platform.launcher.LauncherExecutionRequest",
+                    false, loader);
+            this.createToken = token.getMethod("create");
+            this.cancel = token.getMethod("cancel");
+            this.request = builder.getMethod("request", LauncherDiscoveryRequest.class);
+            this.listeners = builder.getMethod("listeners", TestExecutionListener[].class);
+            this.cancellationToken = builder.getMethod("cancellationToken", token);
+            this.build = builder.getMethod("build");
+            this.execute = Launcher.class.getMethod("execute", executionRequest);
+        }
+
+        static CancellationApi find() {
+            try {
+                return new CancellationApi(Launcher.class.getClassLoader());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+
+        Object createToken() {
+            return invoke(createToken, null);
+        }
+
+        void cancel(Object token) {
+            invoke(cancel, token);
+        }
+
+        void execute(Launcher launcher, LauncherDiscoveryRequest discoveryRequest, TestExecutionListener[] listeners,
+                     Object token) {
+            Object builder = invoke(request, null, discoveryRequest);
+            invoke(this.listeners, builder, (Object) listeners);
+            invoke(cancellationToken, builder, token);
+            invoke(execute, launcher, invoke(build, builder));
+        }
+
+        private static Object invoke(Method method, Object target, Object... args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Disables the Jupiter tests that have not yet started once the execution running them has been
+ * cancelled, for platforms older than 6.0 that cannot cancel an execution themselves.
+ *
+ * Registered through Jupiter's extension auto-detection, which is only enabled for the requests
+ * that set {@link CancellableExecution#EXECUTION}. Public only so that it can be loaded as a service.
+ */
+public final class CancelledTestCondition implements ExecutionCondition {
+
+    private static final ConditionEvaluationResult ENABLED = ConditionEvaluationResult.enabled("Not cancelled");
+
+    private static final ConditionEvaluationResult CANCELLED = ConditionEvaluationResult
+            .disabled("Cancelled, as the result collector should exit");
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        return context.getConfigurationParameter(CancellableExecution.EXECUTION)
+                .filter(CancellableExecution::isCancelled)
+                .map(execution -> CANCELLED)
+                .orElse(ENABLED);
+    }
+
+}
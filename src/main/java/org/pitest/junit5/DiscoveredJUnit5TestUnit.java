@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import org.pitest.testapi.AbstractTestUnit;
+import org.pitest.testapi.ResultCollector;
+
+/**
+ * A unit found without running it. Unlike {@link JUnit5TestUnit} it is not marked as executed
+ * in discovery, so pitest will run it when gathering coverage.
+ */
+class DiscoveredJUnit5TestUnit extends AbstractTestUnit {
+
+    private final JUnit5TestUnit unit;
+
+    DiscoveredJUnit5TestUnit(Class<?> testClass, String uniqueId) {
+        this(new JUnit5TestUnit(testClass, uniqueId));
+    }
+
+    DiscoveredJUnit5TestUnit(JUnit5TestUnit unit) {
+        super(unit.getDescription());
+        this.unit = unit;
+    }
+
+    @Override
+    public void execute(ResultCollector resultCollector) {
+        unit.execute(resultCollector);
+    }
+
+    JUnit5TestUnit getUnit() {
+        return unit;
+    }
+
+    @Override
+    public String toString() {
+        return "Discovered" + unit;
+    }
+
+}
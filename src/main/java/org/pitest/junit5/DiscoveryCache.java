@@ -0,0 +1,233 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.pitest.junit5.DataFiles.readLength;
+import static org.pitest.junit5.DataFiles.readString;
+import static org.pitest.junit5.DataFiles.writeString;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.testapi.TestUnit;
+import org.pitest.util.Log;
+
+/**
+ * Remembers the units found by discovery in each test class between runs, so that classes
+ * which have not changed need not be discovered again.
+ *
+ * Entries are keyed by a digest of the bytecode of the test class, its supertypes and its
+ * nested classes, together with the options that affect which units are found. The file is
+ * written when the jvm exits, and only if new entries were added. Minions that finish at the
+ * same time replace rather than merge each other's writes, which at worst loses entries.
+ */
+final class DiscoveryCache {
+
+    private static final Logger LOG = Log.getLogger();
+
+    private static final int FORMAT = 2;
+
+    private static final Map<Path, DiscoveryCache> OPEN = new ConcurrentHashMap<>();
+
+    private final Path file;
+
+    private final Map<String, Entry> entries;
+
+    private volatile boolean modified;
+
+    private DiscoveryCache(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the cache held in the given file, which need not exist. The file is read once per
+     * jvm, and written back when the jvm exits.
+     */
+    static DiscoveryCache open(Path file) {
+        return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), path -> {
+            DiscoveryCache cache = load(path);
+            Runtime.getRuntime().addShutdownHook(new Thread(cache::save, "pitest-junit5-discovery-cache"));
+            return cache;
+        });
+    }
+
+    static DiscoveryCache load(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        return new DiscoveryCache(path, read(path));
+    }
+
+    /**
+     * Returns a digest identifying the current version of the class, or null if the bytecode
+     * of the class or of the types it depends on could not be examined.
+     */
+    static String fingerprint(Class<?> clazz, String options, ClassByteArraySource source) {
+        Map<String, Class<?>> types = new TreeMap<>();
+        try {
+            collectTypes(clazz, types);
+        } catch (LinkageError | SecurityException e) {
+            return null;
+        }
+
+        MessageDigest digest = sha256();
+        digest.update(options.getBytes(StandardCharsets.UTF_8));
+        for (String name : types.keySet()) {
+            Optional<byte[]> bytes = source.getBytes(name);
+            if (!bytes.isPresent()) {
+                return null;
+            }
+            digest.update((byte) 0);
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(bytes.get());
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Creates the units stored for the class from their unique ids, or returns null if none were
+     * stored for this fingerprint.
+     */
+    List<TestUnit> units(Class<?> clazz, String fingerprint, Function<String, TestUnit> unitFactory) {
+        Entry entry = entries.get(clazz.getName());
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            return null;
+        }
+        List<TestUnit> units = new ArrayList<>(entry.uniqueIds.size());
+        for (int i = 0; i != entry.uniqueIds.size(); i++) {
+            units.add(unitFactory.apply(entry.uniqueIds.get(i)));
+        }
+        return units;
+    }
+
+    void store(Class<?> clazz, String fingerprint, List<TestUnit> units) {
+        Entry entry = new Entry(fingerprint, units.size());
+        for (TestUnit unit : units) {
+            entry.uniqueIds.add(((DiscoveredJUnit5TestUnit) unit).getUnit().getUniqueId());
+        }
+        entries.put(clazz.getName(), entry);
+        modified = true;
+    }
+
+    synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        try {
+            DataFiles.replace(file, this::write);
+            modified = false;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not write JUnit 5 discovery cache to " + file, e);
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> each : entries.entrySet()) {
+            Entry entry = each.getValue();
+            writeString(out, each.getKey());
+            writeString(out, entry.fingerprint);
+            out.writeInt(entry.uniqueIds.size());
+            for (int i = 0; i != entry.uniqueIds.size(); i++) {
+                writeString(out, entry.uniqueIds.get(i));
+            }
+        }
+    }
+
+    private static Map<String, Entry> read(Path file) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT) {
+                return entries;
+            }
+            long limit = Files.size(file);
+            int classes = readLength(in, limit);
+            for (int c = 0; c != classes; c++) {
+                String className = readString(in, limit);
+                Entry entry = new Entry(readString(in, limit), readLength(in, limit));
+                for (int u = 0; u != entry.size; u++) {
+                    entry.uniqueIds.add(readString(in, limit));
+                }
+                entries.put(className, entry);
+            }
+            return entries;
+        } catch (NoSuchFileException e) {
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring unreadable JUnit 5 discovery cache " + file, e);
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    private static void collectTypes(Class<?> type, Map<String, Class<?>> types) {
+        if (type == null || type.isPrimitive() || type.getName().startsWith("java.")
+                || types.putIfAbsent(type.getName(), type) != null) {
+            return;
+        }
+        collectTypes(type.getSuperclass(), types);
+        for (Class<?> each : type.getInterfaces()) {
+            collectTypes(each, types);
+        }
+        for (Class<?> each : type.getDeclaredClasses()) {
+            collectTypes(each, types);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte each : bytes) {
+            hex.append(Character.forDigit((each >> 4) & 0xf, 16)).append(Character.forDigit(each & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final int size;
+        private final List<String> uniqueIds;
+
+        Entry(String fingerprint, int size) {
+            this.fingerprint = fingerprint;
+            this.size = size;
+            this.uniqueIds = new ArrayList<>(size);
+        }
+    }
+
+}
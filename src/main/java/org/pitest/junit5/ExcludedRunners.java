@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.pitest.util.Glob;
+
+/**
+ * pitest's excludedRunners, read as JUnit platform engines and test containers.
+ *
+ * The platform has no runners, so each entry that is the id of an engine on the classpath (e.g.
+ * junit-vintage or spock) excludes that engine. Any other entry is a glob matched against the
+ * class names of containers (test classes, @Nested classes, Spock specs), whose tests are then
+ * excluded. Nested classes are matched by their binary names, e.g. <code>*$Slow</code>.
+ */
+final class ExcludedRunners {
+
+    private final Set<String> engines = new TreeSet<>();
+
+    private final List<String> classPatterns = new ArrayList<>();
+
+    private final Collection<Predicate<String>> classes;
+
+    ExcludedRunners(Collection<String> excludedRunners, Collection<String> engineIds) {
+        if (excludedRunners != null) {
+            for (String each : excludedRunners) {
+                String runner = each.trim();
+                if (engineIds.contains(runner)) {
+                    engines.add(runner);
+                } else if (!runner.isEmpty()) {
+                    classPatterns.add(runner);
+                }
+            }
+        }
+        this.classes = Glob.toGlobPredicates(classPatterns);
+    }
+
+    Set<String> engines() {
+        return engines;
+    }
+
+    boolean isExcluded(Class<?> clazz) {
+        return isExcluded(clazz.getName());
+    }
+
+    /**
+     * Filters that apply the exclusions to a discovery request. They must be added both to the
+     * requests that find units and to those that execute them, as a unit for a whole class would
+     * otherwise run the excluded @Nested classes within it.
+     */
+    List<Filter<?>> filters() {
+        List<Filter<?>> filters = new ArrayList<>(2);
+        if (!engines.isEmpty()) {
+            filters.add(EngineFilter.excludeEngines(new ArrayList<>(engines)));
+        }
+        if (!classPatterns.isEmpty()) {
+            filters.add((PostDiscoveryFilter) this::filter);
+        }
+        return filters;
+    }
+
+    private FilterResult filter(TestDescriptor descriptor) {
+        // the platform only removes descriptors without children, so each test must be excluded
+        // for the containers it is within
+        for (Optional<TestDescriptor> each = Optional.of(descriptor); each.isPresent(); each = each.get().getParent()) {
+            Optional<TestSource> source = each.get().getSource();
+            if (source.isPresent() && source.get() instanceof ClassSource
+                    && isExcluded(((ClassSource) source.get()).getClassName())) {
+                return FilterResult.excluded("Within excluded runner " + ((ClassSource) source.get()).getClassName());
+            }
+        }
+        return FilterResult.included("Not within an excluded runner");
+    }
+
+    private boolean isExcluded(String className) {
+        return classes.stream().anyMatch(glob -> glob.test(className));
+    }
+
+    @Override
+    public String toString() {
+        return engines + "|" + classPatterns;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.platform.launcher.TestExecutionListener;
+
+/**
+ * Emits Java Flight Recorder events for finding units, for each launch and for each test, so that
+ * the plugin's work can be lined up with the rest of a recording.
+ *
+ * Flight Recorder is not present on every jvm the plugin supports, so its api is only reached
+ * through {@link JfrRecorder}, which is loaded if the api can be found. Events are only created
+ * while a recording has them enabled.
+ */
+final class FlightRecording {
+
+    /**
+     * A period of work, which is recorded when closed.
+     */
+    interface Span extends AutoCloseable {
+        default void units(int units) {
+        }
+
+        @Override
+        void close();
+    }
+
+    interface Recorder {
+        Span findTestUnits(String testClass);
+
+        Span launch(String phase, Supplier<String> selection);
+
+        /**
+         * Returns null if test events are not enabled.
+         */
+        TestExecutionListener listener(String phase, Function<String, String> classNames);
+    }
+
+    private static final Span NONE = () -> { };
+
+    private static final Recorder RECORDER = load();
+
+    private FlightRecording() {
+    }
+
+    static Span findTestUnits(Class<?> testClass) {
+        return RECORDER == null ? NONE : RECORDER.findTestUnits(testClass.getName());
+    }
+
+    /**
+     * @param selection describes the classes or unique ids launched, and is only called if the
+     *                  launch is recorded
+     */
+    static Span launch(String phase, Supplier<String> selection) {
+        return RECORDER == null ? NONE : RECORDER.launch(phase, selection);
+    }
+
+    /**
+     * Listeners to pass to a launch in the given phase, which record each test run to the metrics
+     * file (if any) and to the flight recorder (if recording).
+     */
+    static TestExecutionListener[] listeners(Metrics metrics, String phase, Function<String, String> classNames) {
+        TestExecutionListener recording = RECORDER == null ? null : RECORDER.listener(phase, classNames);
+        TestExecutionListener timing = metrics == null ? null : metrics.listener(phase, classNames);
+        if (recording == null) {
+            return timing == null ? new TestExecutionListener[0] : new TestExecutionListener[] {timing};
+        }
+        return timing == null
+                ? new TestExecutionListener[] {recording}
+                : new TestExecutionListener[] {timing, recording};
+    }
+
+    private static Recorder load() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, FlightRecording.class.getClassLoader());
+            return (Recorder) Class.forName(FlightRecording.class.getPackage().getName() + ".JfrRecorder")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+}
@@ -17,6 +17,10 @@ package org.pitest.junit5;
 import java.util.Collection;
 import java.util.Optional;
 
+import static java.util.Collections.emptyList;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.help.PitHelpError;
 import org.pitest.testapi.Configuration;
 import org.pitest.testapi.TestGroupConfig;
@@ -33,18 +37,47 @@ public class JUnit5Configuration implements Configuration {
 
     private final Collection<String> includedTestMethods;
 
+    private final JUnit5Settings settings;
+
+    private final ClassByteArraySource source;
+
+    private final Collection<String> excludedRunners;
+
     public JUnit5Configuration(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods) {
+        this(testGroupConfig, includedTestMethods, JUnit5Settings.defaults());
+    }
+
+    public JUnit5Configuration(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                               JUnit5Settings settings) {
+        this(testGroupConfig, includedTestMethods, settings, ClassloaderByteArraySource.fromContext());
+    }
+
+    public JUnit5Configuration(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                               JUnit5Settings settings, ClassByteArraySource source) {
+        this(testGroupConfig, includedTestMethods, settings, source, emptyList());
+    }
+
+    public JUnit5Configuration(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                               JUnit5Settings settings, ClassByteArraySource source,
+                               Collection<String> excludedRunners) {
         this.testGroupConfig = testGroupConfig;
         this.includedTestMethods = includedTestMethods;
+        this.settings = settings;
+        this.source = source;
+        this.excludedRunners = excludedRunners;
     }
 
     @Override
     public TestUnitFinder testUnitFinder() {
-        return new JUnit5TestUnitFinder(testGroupConfig, includedTestMethods);
+        return new JUnit5TestUnitFinder(testGroupConfig, includedTestMethods, settings, source, excludedRunners);
     }
 
     @Override
     public TestSuiteFinder testSuiteFinder() {
+        if (excludedRunners != null && excludedRunners.contains(JUnit5TestSuiteFinder.SUITE_ENGINE)) {
+            // members of suites are then found only if pitest is given them directly
+            return clazz -> emptyList();
+        }
         return new JUnit5TestSuiteFinder();
     }
 
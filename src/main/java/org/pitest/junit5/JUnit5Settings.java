@@ -0,0 +1,198 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import static java.util.Collections.emptyMap;
+
+import org.pitest.util.Glob;
+
+/**
+ * Options controlling how the plugin finds and runs tests.
+ *
+ * pitest provides no way to pass configuration to a test plugin, so options are read from
+ * system properties prefixed with <code>pitest.junit5.</code>. These can be supplied to the
+ * minions with pitest's jvmArgs setting.
+ */
+public final class JUnit5Settings {
+
+    static final String PREFIX = "pitest.junit5.";
+
+    /**
+     * Comma separated globs matching the names of test classes that should be run as a single
+     * unit, rather than as one unit per test.
+     */
+    public static final String CLASS_UNITS = PREFIX + "classUnits";
+
+    /**
+     * When true, tests are found with Launcher.discover rather than by running them. pitest then
+     * runs each unit separately to gather coverage. Tests created at runtime (test factories and
+     * templates such as parameterized tests) cannot be found statically, so each factory or
+     * template becomes a single unit.
+     */
+    public static final String DISCOVERY_ONLY = PREFIX + "discoveryOnly";
+
+    /**
+     * File in which the units found in discovery only mode are kept between runs. Classes whose
+     * bytecode, and that of their supertypes and nested classes, is unchanged are not discovered
+     * again. Has no effect unless discovery only mode is enabled, as tests that are found by running
+     * them must be run again to gather coverage.
+     */
+    public static final String DISCOVERY_CACHE = PREFIX + "discoveryCache";
+
+    /**
+     * When true, Jupiter's parallel execution is enabled for classes that run as a single unit
+     * (see {@link #CLASS_UNITS}) rather than disabled for every test. Which tests run concurrently
+     * is decided by the project's own configuration and annotations. Coverage from a class unit
+     * is attributed to the class as a whole, so its tests may run at the same time. All other
+     * tests still run one at a time, so that their coverage can be told apart.
+     */
+    public static final String PARALLEL_CLASS_UNITS = PREFIX + "parallelClassUnits";
+
+    /**
+     * When true, each test template or factory (e.g. a parameterized test) runs as a single unit
+     * rather than as one unit per invocation. Selecting a single invocation makes the engine
+     * evaluate the whole argument source or factory and then discard all but one of the tests it
+     * creates, so running them together avoids repeating that work. Each invocation is still
+     * reported, and where the platform supports cancellation the remaining invocations are
+     * skipped once one of them kills a mutant.
+     */
+    public static final String TEMPLATE_UNITS = PREFIX + "templateUnits";
+
+    /**
+     * Properties file of configuration parameters to pass to the test engines, in place of those
+     * the project would set in junit-platform.properties. Keys prefixed with <code>coverage.</code>
+     * apply only while tests are being found, which is when pitest gathers coverage unless discovery
+     * only mode is enabled. Keys prefixed with <code>mutation.</code> apply only when units are run,
+     * which is how pitest tests mutants. Other keys apply to both.
+     */
+    public static final String CONFIGURATION_FILE = PREFIX + "configurationFile";
+
+    /**
+     * File to which timings of launcher creation, of finding the units in each class and of each
+     * test run are appended, along with unit counts and failing containers. Written as JSON lines,
+     * or as CSV if the name ends with <code>.csv</code>.
+     */
+    public static final String METRICS_FILE = PREFIX + "metricsFile";
+
+    static final String COVERAGE_PROFILE = "coverage.";
+
+    static final String MUTATION_PROFILE = "mutation.";
+
+    private final Properties properties;
+
+    public JUnit5Settings(Properties properties) {
+        this.properties = new Properties();
+        this.properties.putAll(properties);
+    }
+
+    public static JUnit5Settings defaults() {
+        return new JUnit5Settings(new Properties());
+    }
+
+    public static JUnit5Settings fromSystemProperties() {
+        return new JUnit5Settings(System.getProperties());
+    }
+
+    public Collection<Predicate<String>> classUnits() {
+        return Glob.toGlobPredicates(list(CLASS_UNITS));
+    }
+
+    public boolean discoveryOnly() {
+        return flag(DISCOVERY_ONLY);
+    }
+
+    public boolean parallelClassUnits() {
+        return flag(PARALLEL_CLASS_UNITS);
+    }
+
+    public boolean templateUnits() {
+        return flag(TEMPLATE_UNITS);
+    }
+
+    public Map<String, String> coverageConfigurationParameters() {
+        return configurationParameters(COVERAGE_PROFILE);
+    }
+
+    public Map<String, String> mutationConfigurationParameters() {
+        return configurationParameters(MUTATION_PROFILE);
+    }
+
+    public Optional<Path> discoveryCache() {
+        return path(DISCOVERY_CACHE);
+    }
+
+    public Optional<Path> metricsFile() {
+        return path(METRICS_FILE);
+    }
+
+    private Map<String, String> configurationParameters(String profile) {
+        Optional<Path> file = path(CONFIGURATION_FILE);
+        if (!file.isPresent()) {
+            return emptyMap();
+        }
+
+        Properties parameters = new Properties();
+        try (Reader reader = Files.newBufferedReader(file.get(), StandardCharsets.UTF_8)) {
+            parameters.load(reader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read JUnit 5 configuration file " + file.get(), e);
+        }
+
+        Map<String, String> shared = new HashMap<>();
+        Map<String, String> profiled = new HashMap<>();
+        for (String key : parameters.stringPropertyNames()) {
+            if (key.startsWith(profile)) {
+                profiled.put(key.substring(profile.length()), parameters.getProperty(key));
+            } else if (!key.startsWith(COVERAGE_PROFILE) && !key.startsWith(MUTATION_PROFILE)) {
+                shared.put(key, parameters.getProperty(key));
+            }
+        }
+        shared.putAll(profiled);
+        return shared;
+    }
+
+    private Optional<Path> path(String key) {
+        String file = properties.getProperty(key, "").trim();
+        return file.isEmpty() ? Optional.empty() : Optional.of(Paths.get(file));
+    }
+
+    private boolean flag(String key) {
+        return Boolean.parseBoolean(properties.getProperty(key, "false").trim());
+    }
+
+    private List<String> list(String key) {
+        List<String> values = new ArrayList<>();
+        for (String value : properties.getProperty(key, "").split(",")) {
+            if (!value.trim().isEmpty()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+}
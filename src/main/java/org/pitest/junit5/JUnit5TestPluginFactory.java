@@ -31,8 +31,8 @@ public class JUnit5TestPluginFactory implements TestPluginFactory {
         ClassByteArraySource source, 
         Collection<String> excludedRunners,
         Collection<String> includedTestMethods) {
-        System.setProperty("junit.jupiter.execution.parallel.enabled", "false");
-        return new JUnit5Configuration(config, includedTestMethods);
+        return new JUnit5Configuration(config, includedTestMethods, JUnit5Settings.fromSystemProperties(), source,
+                excludedRunners);
     }
 
     @Override
@@ -5,19 +5,140 @@
  */
 package org.pitest.junit5;
 
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
 import org.pitest.testapi.TestSuiteFinder;
+import org.pitest.util.Log;
 
 /**
+ * Expands classes annotated with the JUnit Platform Suite's <code>@Suite</code> to the test
+ * classes they select, so that pitest finds units in the member classes rather than running the
+ * suite as a whole.
+ *
+ * Members are found by asking the suite engine to discover the suite, which applies its selector
+ * annotations without running any tests. A suite is only expanded if every container it selects
+ * has a class source (unlike, e.g., suites of Cucumber features), and if it declares no filter or
+ * configuration parameter annotations, as those would not apply to its members once they are run
+ * on their own. Other suites are left to run as before. Expansions are kept for the life of the
+ * class.
  *
  * @author Tobias Stadler
  */
 public class JUnit5TestSuiteFinder implements TestSuiteFinder {
 
+    static final String SUITE_ENGINE = "junit-platform-suite";
+
+    private static final String SUITE_API = "org.junit.platform.suite.api.";
+
+    private static final String SUITE_ANNOTATION = SUITE_API + "Suite";
+
+    // names rather than classes, as some are missing from older versions of the suite api
+    private static final List<String> FILTER_AND_CONFIGURATION_ANNOTATIONS = Arrays.asList(
+            "IncludeTags", "ExcludeTags",
+            "IncludeClassNamePatterns", "ExcludeClassNamePatterns",
+            "IncludeMethodNamePatterns", "ExcludeMethodNamePatterns",
+            "IncludePackages", "ExcludePackages",
+            "IncludeEngines", "ExcludeEngines",
+            "ConfigurationParameter", "ConfigurationParameters",
+            "ConfigurationParametersResource", "ConfigurationParametersResources",
+            "DisableParentConfigurationParameters");
+
+    private static final Logger LOG = Log.getLogger();
+
+    private static final ClassValue<List<Class<?>>> MEMBERS = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            return isSuite(type) && !hasFilterOrConfiguration(type)
+                    ? discoverMembers(type) : Collections.emptyList();
+        }
+    };
+
     @Override
     public List<Class<?>> apply(Class<?> a) {
-        return Collections.emptyList();
+        return MEMBERS.get(a);
+    }
+
+    /**
+     * Whether the class is a suite whose members pitest will find through this finder, in which case
+     * the suite engine should not also run them as part of the suite.
+     */
+    static boolean isExpanded(Class<?> clazz) {
+        return !MEMBERS.get(clazz).isEmpty();
+    }
+
+    private static boolean isSuite(Class<?> clazz) {
+        return isAnnotated(clazz, SUITE_ANNOTATION);
+    }
+
+    private static boolean hasFilterOrConfiguration(Class<?> suite) {
+        return FILTER_AND_CONFIGURATION_ANNOTATIONS.stream()
+                .anyMatch(name -> isAnnotated(suite, SUITE_API + name));
+    }
+
+    private static boolean isAnnotated(Class<?> clazz, String annotationName) {
+        try {
+            Class<?> annotation = Class.forName(annotationName, false, clazz.getClassLoader());
+            return annotation.isAnnotation()
+                    && AnnotationSupport.isAnnotated(clazz, annotation.asSubclass(Annotation.class));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static List<Class<?>> discoverMembers(Class<?> suite) {
+        TestPlan testPlan;
+        try {
+            testPlan = SharedLauncher.launcher().discover(LauncherDiscoveryRequestBuilder
+                    .request()
+                    .selectors(DiscoverySelectors.selectClass(suite.getName()))
+                    .filters(EngineFilter.includeEngines(SUITE_ENGINE))
+                    .build());
+        } catch (RuntimeException e) {
+            LOG.log(Level.FINE, "Could not discover members of suite " + suite.getName(), e);
+            return Collections.emptyList();
+        }
+
+        // suites run a launcher of their own, so the classes they select are beneath the engines
+        // that appear within each suite
+        Set<String> names = new LinkedHashSet<>();
+        for (TestIdentifier engine : testPlan.getRoots()) {
+            for (TestIdentifier suiteContainer : testPlan.getChildren(engine)) {
+                for (TestIdentifier memberEngine : testPlan.getChildren(suiteContainer)) {
+                    for (TestIdentifier member : testPlan.getChildren(memberEngine)) {
+                        if (!member.getSource().filter(ClassSource.class::isInstance).isPresent()) {
+                            return Collections.emptyList();
+                        }
+                        names.add(((ClassSource) member.getSource().get()).getClassName());
+                    }
+                }
+            }
+        }
+
+        List<Class<?>> members = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                members.add(Class.forName(name, false, suite.getClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.log(Level.FINE, "Could not load member " + name + " of suite " + suite.getName(), e);
+                return Collections.emptyList();
+            }
+        }
+        return Collections.unmodifiableList(members);
     }
 
 }
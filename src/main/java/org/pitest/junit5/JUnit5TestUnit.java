@@ -14,16 +14,19 @@
  */
 package org.pitest.junit5;
 
-import java.util.Optional;
+import java.lang.ref.SoftReference;
+import java.util.Map;
 
-import org.junit.platform.engine.TestExecutionResult;
+import static java.util.Collections.emptyMap;
+
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.EngineFilter;
 import org.junit.platform.launcher.Launcher;
 import org.junit.platform.launcher.LauncherDiscoveryRequest;
-import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
-import org.junit.platform.launcher.core.LauncherFactory;
 import org.pitest.testapi.AbstractTestUnit;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ExecutedInDiscovery;
@@ -37,66 +40,88 @@ public class JUnit5TestUnit extends AbstractTestUnit implements ExecutedInDiscov
 
     private final Class<?> testClass;
 
-    private final TestIdentifier testIdentifier;
+    private final Filter<?>[] filters;
+
+    private final Map<String, String> configurationParameters;
+
+    private final Metrics metrics;
+
+    private volatile SoftReference<LauncherDiscoveryRequest> discoveryRequest;
 
     public JUnit5TestUnit(Class<?> testClass, TestIdentifier testIdentifier) {
-        super(new Description(testIdentifier.getUniqueId(), testClass));
+        this(testClass, testIdentifier.getUniqueId());
+    }
+
+    JUnit5TestUnit(Class<?> testClass, String uniqueId) {
+        this(testClass, uniqueId, new Filter<?>[0], emptyMap(), null);
+    }
+
+    /**
+     * @param filters the tag, method and runner filters the unit was found with, so that tests within
+     *                a class unit that were excluded from discovery are also excluded from execution
+     * @param configurationParameters passed to the engine each time the unit is executed
+     * @param metrics records the time taken by each test, or null if none should be recorded
+     */
+    JUnit5TestUnit(Class<?> testClass, String uniqueId, Filter<?>[] filters,
+                   Map<String, String> configurationParameters, Metrics metrics) {
+        super(new Description(uniqueId, testClass));
         this.testClass = testClass;
-        this.testIdentifier = testIdentifier;
+        this.filters = filters;
+        this.configurationParameters = configurationParameters;
+        this.metrics = metrics;
     }
 
     @Override
+    @SuppressWarnings("try")
     public void execute(ResultCollector resultCollector) {
-        Launcher launcher = LauncherFactory.create();
-        LauncherDiscoveryRequest launcherDiscoveryRequest = LauncherDiscoveryRequestBuilder
-                .request()
-                .selectors(DiscoverySelectors.selectUniqueId(testIdentifier.getUniqueId()))
-                .build();
-
-            launcher.registerTestExecutionListeners(new TestExecutionListener() {
-                @Override
-                public void executionSkipped(TestIdentifier testIdentifier, String reason) {
-                        if (testIdentifier.isTest()) {
-                            resultCollector.notifySkipped(new Description(testIdentifier.getUniqueId(), testClass));
-                        }
-                }
-
-                @Override
-                public void executionStarted(TestIdentifier testIdentifier) {
-                        if (testIdentifier.isTest()) {
-                            resultCollector.notifyStart(new Description(testIdentifier.getUniqueId(), testClass));
-                        }
-                }
-
-                @Override
-                public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
-                    Optional<Throwable> throwable = testExecutionResult.getThrowable();
-                        if (testIdentifier.isTest()) {
-                            if (TestExecutionResult.Status.ABORTED == testExecutionResult.getStatus()) {
-                                // abort treated as success
-                                // see: https://junit.org/junit5/docs/5.0.0/api/org/junit/jupiter/api/Assumptions.html
-                                resultCollector.notifyEnd(new Description(testIdentifier.getUniqueId(), testClass));
-                            } else if (throwable.isPresent()) {
-                                resultCollector.notifyEnd(new Description(testIdentifier.getUniqueId(), testClass), throwable.get());
-                            } else {
-                                resultCollector.notifyEnd(new Description(testIdentifier.getUniqueId(), testClass));
-                            }
-                        } else {
-                            // Classes with failing BeforeAll methods identify as containers, not tests.
-                            if (throwable.isPresent()) {
-                                resultCollector.notifyEnd(new Description(testIdentifier.getUniqueId(), testClass), throwable.get());
-                            }
-                        }
-                }
-
-            });
-            launcher.execute(launcherDiscoveryRequest);
+        Launcher launcher = SharedLauncher.launcher();
+        try (FlightRecording.Span ignored = FlightRecording.launch(Metrics.EXECUTION, this::getUniqueId)) {
+            CancellableExecution.execute(launcher, discoveryRequest(), resultCollector, this::describe,
+                    FlightRecording.listeners(metrics, Metrics.EXECUTION, uniqueId -> testClass.getName()));
+        }
+    }
+
+    private Description describe(String uniqueId) {
+        // units usually run a single test, which can be reported with the unit's own description
+        return uniqueId.equals(getUniqueId()) ? getDescription() : new Description(uniqueId, testClass);
+    }
+
+    /**
+     * The unique id is the name of the unit's description, so it is not held a second time.
+     */
+    String getUniqueId() {
+        return getDescription().getName();
+    }
+
+    /**
+     * The request is built once and reused for every execution of this unit. The platform will not
+     * execute a TestPlan more than once, and engines add dynamic tests to their descriptors as they
+     * run, so the discovered plan itself cannot be cached. Reusing the request avoids re-reading the
+     * configuration parameters each time, and the engine filter stops engines other than the one
+     * that owns the test from attempting to resolve it. A built request, with its parsed id and
+     * parameters, takes around 1.5KB, several times the unit itself. It is only built once the unit
+     * is first run, and is softly referenced so that it is dropped again if memory runs short.
+     */
+    private LauncherDiscoveryRequest discoveryRequest() {
+        SoftReference<LauncherDiscoveryRequest> reference = discoveryRequest;
+        LauncherDiscoveryRequest request = reference == null ? null : reference.get();
+        if (request == null) {
+            UniqueId id = UniqueId.parse(getUniqueId());
+            String engine = id.getSegments().get(0).getValue();
+            request = CancellableExecution.request(LauncherDiscoveryRequestBuilder
+                    .request()
+                    .selectors(DiscoverySelectors.selectUniqueId(id))
+                    .filters(EngineFilter.includeEngines(engine))
+                    .filters(filters)
+                    .configurationParameters(configurationParameters), engine);
+            discoveryRequest = new SoftReference<>(request);
+        }
+        return request;
     }
 
 
     @Override
     public String toString() {
-        return "JUnit5TestUnit [uniqueId=" + testIdentifier.getUniqueId()
-               + ", displayName=" + testIdentifier.getDisplayName() + "]";
+        return "JUnit5TestUnit [uniqueId=" + getUniqueId() + "]";
     }
 }
@@ -14,33 +14,60 @@
  */
 package org.pitest.junit5;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import static java.util.Collections.emptyList;
-import static java.util.Collections.synchronizedList;
-import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.toList;
 
 import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.engine.DiscoverySelector;
 import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
 import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.ClassSource;
 import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.EngineFilter;
 import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
 import org.junit.platform.launcher.TagFilter;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
 import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
-import org.junit.platform.launcher.core.LauncherFactory;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.TestGroupConfig;
 import org.pitest.testapi.TestUnit;
 import org.pitest.testapi.TestUnitExecutionListener;
 import org.pitest.testapi.TestUnitFinder;
+import org.pitest.util.Log;
 
 /**
  *
@@ -48,25 +75,343 @@ import org.pitest.testapi.TestUnitFinder;
  */
 public class JUnit5TestUnitFinder implements TestUnitFinder {
 
-    private final TestGroupConfig testGroupConfig;
+    private static final Logger LOG = Log.getLogger();
+
+    private static final AtomicBoolean CANCELLATION_LOGGED = new AtomicBoolean();
+
+    private final Filter<?>[] filters;
 
     private final Collection<String> includedTestMethods;
 
+    private final Collection<Predicate<String>> classUnits;
+
+    private final boolean discoveryOnly;
+
+
+    private final boolean parallelClassUnits;
+
+    private final boolean templateUnits;
+
+    private final Map<Boolean, Map<String, String>> findingParameters;
+
+    private final Map<Boolean, Map<String, String>> runningParameters;
+
+    private final DiscoveryCache discoveryCache;
+
+    private final Metrics metrics;
+
+    private final String discoveryOptions;
+
+    private final ClassByteArraySource source;
+
     private final Launcher launcher;
 
+    private final ExcludedRunners excludedRunners;
+
+    private final TestCandidateScanner scanner;
+
+    private final VintageSuites vintageSuites;
+
     public JUnit5TestUnitFinder(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods) {
-        this.testGroupConfig = testGroupConfig;
+        this(testGroupConfig, includedTestMethods, JUnit5Settings.defaults());
+    }
+
+    public JUnit5TestUnitFinder(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                                JUnit5Settings settings) {
+        this(testGroupConfig, includedTestMethods, settings, ClassloaderByteArraySource.fromContext());
+    }
+
+    public JUnit5TestUnitFinder(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                                JUnit5Settings settings, ClassByteArraySource source) {
+        this(testGroupConfig, includedTestMethods, settings, source, emptyList());
+    }
+
+    public JUnit5TestUnitFinder(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                                JUnit5Settings settings, ClassByteArraySource source,
+                                Collection<String> excludedRunners) {
         this.includedTestMethods = includedTestMethods;
-        this.launcher = LauncherFactory.create();
+        this.classUnits = settings.classUnits();
+        this.discoveryOnly = settings.discoveryOnly();
+        this.parallelClassUnits = settings.parallelClassUnits();
+        this.templateUnits = settings.templateUnits();
+        if ((!classUnits.isEmpty() || templateUnits) && !CancellableExecution.isSupported()
+                && CANCELLATION_LOGGED.compareAndSet(false, true)) {
+            LOG.info("Class and template units only stop running Jupiter tests once a test fails, "
+                    + "as stopping the tests of other engines needs JUnit Platform 6.0 or later");
+        }
+        this.findingParameters = byParallelism(settings.coverageConfigurationParameters());
+        this.runningParameters = byParallelism(settings.mutationConfigurationParameters());
+        this.discoveryCache = discoveryOnly ? settings.discoveryCache().map(DiscoveryCache::open).orElse(null) : null;
+        this.source = source;
+        this.metrics = settings.metricsFile().map(Metrics::open).orElse(null);
+        this.launcher = SharedLauncher.launcher();
+        if (metrics != null) {
+            metrics.launcherCreated();
+        }
+        this.excludedRunners = new ExcludedRunners(excludedRunners, SharedLauncher.engineIds());
+        this.filters = filters(testGroupConfig, includedTestMethods, this.excludedRunners);
+        this.discoveryOptions = discoveryOptions(testGroupConfig, includedTestMethods) + "|" + this.excludedRunners;
+        Set<String> engines = new HashSet<>(SharedLauncher.engineIds());
+        engines.removeAll(this.excludedRunners.engines());
+        this.scanner = TestCandidateScanner.forEngines(engines, source);
+        this.vintageSuites = engines.contains(VintageSuites.VINTAGE_ENGINE)
+                ? VintageSuites.create(testGroupConfig, excludedRunners, includedTestMethods) : null;
     }
 
     @Override
     public List<TestUnit> findTestUnits(Class<?> clazz, TestUnitExecutionListener executionListener) {
-        if(clazz.getEnclosingClass() != null) {
+        if(clazz.getEnclosingClass() != null || !mayContainTests(clazz)) {
             return emptyList();
         }
 
-        List<Filter> filters = new ArrayList<>(2);
+        try (FlightRecording.Span span = FlightRecording.findTestUnits(clazz)) {
+            long start = System.nanoTime();
+            List<TestUnit> units = discoveryOnly
+                    ? discoverTestUnits(clazz)
+                    : runTestUnits(clazz, executionListener);
+            span.units(units.size());
+            if (metrics != null) {
+                metrics.classFound(clazz, units.size(), System.nanoTime() - start);
+            }
+            return units;
+        }
+    }
+
+    @SuppressWarnings("try")
+    private List<TestUnit> runTestUnits(Class<?> clazz, TestUnitExecutionListener executionListener) {
+        TestIdentifierListener listener = listenerFor(clazz, executionListener);
+
+        try (FlightRecording.Span ignored = FlightRecording.launch(Metrics.DISCOVERY, clazz::getName)) {
+            launcher.execute(discoveryRequest(singletonList(clazz)), withRecording(listener, uniqueId -> clazz.getName()));
+        }
+
+        return listener.getTestUnits();
+    }
+
+    /**
+     * Checks the bytecode of the class, so that helpers and fixtures in the test tree are not
+     * passed to the engines.
+     */
+    private boolean mayContainTests(Class<?> clazz) {
+        if (excludedRunners.isExcluded(clazz)) {
+            return false;
+        }
+        Set<String> engines = enginesFor(clazz);
+        return engines == null || !engines.isEmpty();
+    }
+
+    /**
+     * Returns the ids of the engines that could find tests in the class, judged from its bytecode,
+     * or null if any engine could.
+     */
+    private Set<String> enginesFor(Class<?> clazz) {
+        Set<String> engines = scanner == null ? null : scanner.enginesFor(clazz);
+        if (engines != null) {
+            engines.removeAll(enginesOfExpandedSuite(clazz, engines));
+        }
+        return engines;
+    }
+
+    /**
+     * Returns the ids of the engines that must not be given the class, because it is a suite whose
+     * members pitest finds separately and they would otherwise run the members' tests again.
+     */
+    private Set<String> enginesOfExpandedSuite(Class<?> clazz, Set<String> candidates) {
+        Set<String> engines = new TreeSet<>();
+        if (JUnit5TestSuiteFinder.isExpanded(clazz)) {
+            engines.add(JUnit5TestSuiteFinder.SUITE_ENGINE);
+        }
+        // finding the members of a JUnit 4 suite creates a runner, so is left to classes Vintage could own
+        if (vintageSuites != null && (candidates == null || candidates.contains(VintageSuites.VINTAGE_ENGINE))
+                && vintageSuites.isExpanded(clazz)) {
+            engines.add(VintageSuites.VINTAGE_ENGINE);
+        }
+        return engines;
+    }
+
+    private Set<String> enginesOfExpandedSuite(Class<?> clazz) {
+        return enginesOfExpandedSuite(clazz, scanner == null ? null : scanner.enginesFor(clazz));
+    }
+
+    private TestExecutionListener[] withRecording(TestExecutionListener listener, Function<String, String> classNames) {
+        TestExecutionListener[] others = FlightRecording.listeners(metrics, Metrics.DISCOVERY, classNames);
+        TestExecutionListener[] all = Arrays.copyOf(others, others.length + 1);
+        all[others.length] = listener;
+        return all;
+    }
+
+    private List<TestUnit> discoverTestUnits(Class<?> clazz) {
+        String fingerprint = fingerprint(clazz);
+        List<TestUnit> cached = fingerprint == null ? null : discoveryCache.units(clazz, fingerprint,
+                uniqueId -> new DiscoveredJUnit5TestUnit(unit(clazz, uniqueId)));
+        if (cached != null) {
+            return cached;
+        }
+
+        TestPlan testPlan = launcher.discover(discoveryRequest(singletonList(clazz)));
+        List<TestUnit> units = new ArrayList<>();
+        for (TestIdentifier engine : testPlan.getRoots()) {
+            for (TestIdentifier container : testPlan.getChildren(engine)) {
+                addDiscoveredUnits(clazz, testPlan, container, units);
+            }
+        }
+
+        // units from containers without a class source (e.g. Cucumber features) depend on more than
+        // the bytecode of the class
+        if (fingerprint != null && isSourceOfTopLevelContainers(clazz, testPlan)) {
+            discoveryCache.store(clazz, fingerprint, units);
+        }
+        return units;
+    }
+
+    /**
+     * Checks that each container directly beneath an engine has the class as its source.
+     */
+    private static boolean isSourceOfTopLevelContainers(Class<?> clazz, TestPlan testPlan) {
+        return testPlan.getRoots().stream()
+                .flatMap(engine -> testPlan.getChildren(engine).stream())
+                .allMatch(container -> container.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(source -> ((ClassSource) source).getClassName().equals(clazz.getName()))
+                        .orElse(false));
+    }
+
+    /**
+     * Returns the key under which the units discovered in the class are cached, or null if they
+     * cannot be cached.
+     */
+    String fingerprint(Class<?> clazz) {
+        if (discoveryCache == null) {
+            return null;
+        }
+        return DiscoveryCache.fingerprint(clazz, discoveryOptions + "|" + isWholeClass(clazz), source);
+    }
+
+    private LauncherDiscoveryRequest discoveryRequest(Collection<Class<?>> classes) {
+        // Although we have a class instance to examine, some junit 5 extensions (well Quarkus, but maybe also others)
+        // switch the classloader during discover. Must therefore drop back to a name string so classloading
+        // matches normal execution.
+        List<DiscoverySelector> selectors = classes.stream()
+                .map(clazz -> DiscoverySelectors.selectClass(clazz.getName()))
+                .collect(toList());
+
+        LauncherDiscoveryRequestBuilder request = LauncherDiscoveryRequestBuilder
+                .request()
+                .selectors(selectors)
+                .filters(filters)
+                .configurationParameters(findingParameters.get(isConcurrent(classes)));
+        Set<String> engines = new TreeSet<>();
+        for (Class<?> clazz : classes) {
+            Set<String> found = enginesFor(clazz);
+            if (found == null) {
+                engines = null;
+                break;
+            }
+            engines.addAll(found);
+        }
+        if (engines != null) {
+            // spares the other engines from trying to resolve classes they cannot run
+            request.filters(EngineFilter.includeEngines(new ArrayList<>(engines)));
+        }
+        Set<String> excluded = classes.size() == 1 ? enginesOfExpandedSuite(classes.iterator().next()) : emptySet();
+        if (!excluded.isEmpty()) {
+            // pitest finds the members of the suite through a suite finder
+            request.filters(EngineFilter.excludeEngines(new ArrayList<>(excluded)));
+        }
+        return request.build();
+    }
+
+    /**
+     * Tests within a class that runs as a single unit may run concurrently, as the coverage they
+     * produce is attributed to the class as a whole. Any other test must finish before the next
+     * starts, so that pitest can tell which test produced which coverage.
+     */
+    private boolean isConcurrent(Collection<Class<?>> classes) {
+        return parallelClassUnits && classes.size() == 1 && isWholeClass(classes.iterator().next());
+    }
+
+    /**
+     * Parallel execution is decided by the plugin rather than the configured profile, as running
+     * tests that are units in their own right at the same time would mix up their coverage.
+     */
+    private static Map<Boolean, Map<String, String>> byParallelism(Map<String, String> profile) {
+        Map<Boolean, Map<String, String>> parameters = new HashMap<>();
+        for (boolean concurrent : new boolean[] {false, true}) {
+            Map<String, String> each = new HashMap<>(profile);
+            each.put("junit.jupiter.execution.parallel.enabled", String.valueOf(concurrent));
+            parameters.put(concurrent, unmodifiableMap(each));
+        }
+        return parameters;
+    }
+
+    /**
+     * Adds units for the tests below a top level container of a discovered test plan. Containers for
+     * test factories and templates have no children until they are run, so become units themselves.
+     */
+    private void addDiscoveredUnits(Class<?> clazz, TestPlan testPlan, TestIdentifier topLevel, List<TestUnit> units) {
+        if (isWholeClass(clazz)) {
+            units.add(new DiscoveredJUnit5TestUnit(unit(clazz, topLevel.getUniqueId())));
+            return;
+        }
+
+        Deque<TestIdentifier> pending = new ArrayDeque<>();
+        pending.push(topLevel);
+        while (!pending.isEmpty()) {
+            TestIdentifier testIdentifier = pending.pop();
+            Set<TestIdentifier> children = testPlan.getChildren(testIdentifier);
+            if (testIdentifier.isTest()
+                    || (children.isEmpty() && testIdentifier.getSource().filter(MethodSource.class::isInstance).isPresent())) {
+                if (isIncludedMethod(testIdentifier)) {
+                    units.add(new DiscoveredJUnit5TestUnit(unit(clazz, testIdentifier.getUniqueId())));
+                }
+            } else {
+                List<TestIdentifier> ordered = new ArrayList<>(children);
+                for (int i = ordered.size() - 1; i >= 0; i--) {
+                    pending.push(ordered.get(i));
+                }
+            }
+        }
+    }
+
+    private JUnit5TestUnit unit(Class<?> clazz, String uniqueId) {
+        return new JUnit5TestUnit(clazz, uniqueId, filters,
+                runningParameters.get(isConcurrent(singletonList(clazz))), metrics);
+    }
+
+    private boolean isIncludedMethod(TestIdentifier testIdentifier) {
+        return includedTestMethods == null || includedTestMethods.isEmpty()
+                || !testIdentifier.getSource().isPresent()
+                || !(testIdentifier.getSource().get() instanceof MethodSource)
+                || includedTestMethods.contains(((MethodSource) testIdentifier.getSource().get()).getMethodName());
+    }
+
+    private boolean isWholeClass(Class<?> clazz) {
+        return classUnits.stream().anyMatch(pattern -> pattern.test(clazz.getName()));
+    }
+
+    private TestIdentifierListener listenerFor(Class<?> clazz, TestUnitExecutionListener executionListener) {
+        return new TestIdentifierListener(clazz, executionListener, isWholeClass(clazz));
+    }
+
+    private static String discoveryOptions(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods) {
+        String platformVersion = Launcher.class.getPackage() == null
+                ? null : Launcher.class.getPackage().getImplementationVersion();
+        return platformVersion
+                + "|" + testGroupConfig.getExcludedGroups()
+                + "|" + testGroupConfig.getIncludedGroups()
+                + "|" + (includedTestMethods == null ? "" : new TreeSet<>(includedTestMethods));
+    }
+
+    /**
+     * Filters applied both when finding units and when executing them, so that a unit for a whole
+     * class runs only the tests that would have been found as units in their own right.
+     */
+    private static Filter<?>[] filters(TestGroupConfig testGroupConfig, Collection<String> includedTestMethods,
+                                       ExcludedRunners excludedRunners) {
+        List<Filter<?>> filters = new ArrayList<>(excludedRunners.filters());
+        if (includedTestMethods != null && !includedTestMethods.isEmpty()) {
+            filters.add((PostDiscoveryFilter) descriptor -> includedMethod(descriptor, includedTestMethods));
+        }
         try {
             List<String> excludedGroups = filterEmptyStrings(testGroupConfig.getExcludedGroups());
             if(!excludedGroups.isEmpty()) {
@@ -80,27 +425,21 @@ public class JUnit5TestUnitFinder implements TestUnitFinder {
         } catch(PreconditionViolationException e) {
             throw new IllegalArgumentException("Error creating tag filter", e);
         }
+        return filters.toArray(new Filter<?>[0]);
+    }
 
-        TestIdentifierListener listener = new TestIdentifierListener(clazz, executionListener);
-
-        // Although we have a class instance to examine, some junit 5 extensions (well Quarkus, but maybe also others)
-        // switch the classloader during discover. Must therefore drop back to a name string so classloading
-        // matches normal execution.
-        DiscoverySelector selector = DiscoverySelectors.selectClass(clazz.getName());
-
-        launcher.execute(LauncherDiscoveryRequestBuilder
-                .request()
-                .selectors(selector)
-                .filters(filters.toArray(new Filter[filters.size()]))
-                .build(), listener);
-
-        return listener.getIdentifiers()
-                .stream()
-                .map(testIdentifier -> new JUnit5TestUnit(clazz, testIdentifier))
-                .collect(toList());
+    private static FilterResult includedMethod(TestDescriptor descriptor, Collection<String> includedTestMethods) {
+        Optional<TestSource> source = descriptor.getSource();
+        if (!source.isPresent() || !(source.get() instanceof MethodSource)) {
+            return FilterResult.included("Not a test method");
+        }
+        String methodName = ((MethodSource) source.get()).getMethodName();
+        return includedTestMethods.contains(methodName)
+                ? FilterResult.included("Included test method " + methodName)
+                : FilterResult.excluded("Not an included test method " + methodName);
     }
 
-    private List<String> filterEmptyStrings(List<String> testGroupConfig) {
+    private static List<String> filterEmptyStrings(List<String> testGroupConfig) {
         return testGroupConfig.stream()
                 .filter(group -> !group.isEmpty())
                 .collect(Collectors.toList());
@@ -109,20 +448,62 @@ public class JUnit5TestUnitFinder implements TestUnitFinder {
     private class TestIdentifierListener implements TestExecutionListener {
         private final Class<?> testClass;
         private final TestUnitExecutionListener l;
-        private final List<TestIdentifier> identifiers = synchronizedList(new ArrayList<>());
+        private final boolean wholeClass;
+        // units are created as tests start, keyed by unique id so that failures reported for
+        // tests that have already started are recognised without a search
+        private final Map<String, TestUnit> units = synchronizedMap(new LinkedHashMap<>());
+        private final Map<String, TestExecutionResult> heldFailures = new ConcurrentHashMap<>();
+        private volatile TestPlan testPlan;
 
-        public TestIdentifierListener(Class<?> testClass, TestUnitExecutionListener l) {
+        public TestIdentifierListener(Class<?> testClass, TestUnitExecutionListener l, boolean wholeClass) {
             this.testClass = testClass;
             this.l = l;
+            this.wholeClass = wholeClass;
         }
 
-        List<TestIdentifier> getIdentifiers() {
-            return unmodifiableList(new ArrayList<>(identifiers));
+        List<TestUnit> getTestUnits() {
+            synchronized (units) {
+                return new ArrayList<>(units.values());
+            }
+        }
+
+        private Description addUnit(TestIdentifier testIdentifier) {
+            return units.computeIfAbsent(testIdentifier.getUniqueId(), uniqueId -> unit(testClass, uniqueId))
+                    .getDescription();
+        }
+
+        // callbacks reuse the description held by the unit rather than creating one per event
+        private Description descriptionOf(TestIdentifier testIdentifier) {
+            TestUnit unit = units.get(testIdentifier.getUniqueId());
+            return unit == null ? new Description(testIdentifier.getUniqueId(), testClass) : unit.getDescription();
+        }
+
+        @Override
+        public void testPlanExecutionStarted(TestPlan testPlan) {
+            this.testPlan = testPlan;
         }
 
         @Override
         public void executionStarted(TestIdentifier testIdentifier) {
+            if (wholeClass) {
+                // tests excluded by group or method name were removed by the request's filters
+                if (isTopLevelContainer(testIdentifier)) {
+                    l.executionStarted(addUnit(testIdentifier));
+                }
+                return;
+            }
+
+            if (templateUnits && isTemplate(testIdentifier)) {
+                if (isIncludedMethod(testIdentifier)) {
+                    l.executionStarted(addUnit(testIdentifier));
+                }
+                return;
+            }
+
             if (testIdentifier.isTest()) {
+                if (templateUnits && templateOf(testIdentifier) != null) {
+                    return;
+                }
                 // filter out testMethods
                 if (includedTestMethods != null && !includedTestMethods.isEmpty()
                         && testIdentifier.getSource().isPresent()
@@ -130,27 +511,119 @@ public class JUnit5TestUnitFinder implements TestUnitFinder {
                         && !includedTestMethods.contains(((MethodSource)testIdentifier.getSource().get()).getMethodName())) {
                     return;
                 }
-                l.executionStarted(new Description(testIdentifier.getUniqueId(), testClass));
-                identifiers.add(testIdentifier);
+                l.executionStarted(addUnit(testIdentifier));
             }
         }
 
 
         @Override
         public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            if (wholeClass && testIdentifier.getParentId().isPresent()) {
+                classExecutionFinished(testIdentifier, testExecutionResult);
+                return;
+            }
+
+            if (templateUnits && (isTemplate(testIdentifier) || templateOf(testIdentifier) != null)) {
+                templateExecutionFinished(testIdentifier, testExecutionResult);
+                return;
+            }
+
             // Classes with failing BeforeAlls never start execution and identify as 'containers' not 'tests'
             if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
-                if (!identifiers.contains(testIdentifier)) {
-                    identifiers.add(testIdentifier);
-                }
-                l.executionFinished(new Description(testIdentifier.getUniqueId(), testClass)
+                l.executionFinished(addUnit(testIdentifier)
                         , false, testExecutionResult.getThrowable().orElse(null));
             } else if (testIdentifier.isTest()) {
-                l.executionFinished(new Description(testIdentifier.getUniqueId(), testClass)
+                l.executionFinished(descriptionOf(testIdentifier)
+                        , true);
+            }
+        }
+
+        // The whole class runs as one unit, so a failure anywhere within it fails the unit. The
+        // first failure is held until the class finishes so that it can be reported against it.
+        private void classExecutionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            TestIdentifier topLevel = topLevelContainerOf(testIdentifier);
+            if (topLevel != testIdentifier) {
+                if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+                    heldFailures.putIfAbsent(topLevel.getUniqueId(), testExecutionResult);
+                }
+                return;
+            }
+
+            TestExecutionResult failure = testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED
+                    ? testExecutionResult
+                    : heldFailures.remove(testIdentifier.getUniqueId());
+            if (failure != null) {
+                l.executionFinished(descriptionOf(testIdentifier)
+                        , false, failure.getThrowable().orElse(null));
+            } else {
+                l.executionFinished(descriptionOf(testIdentifier)
+                        , true);
+            }
+        }
+
+        // Each template or factory runs as one unit, so a failing invocation fails the unit and is
+        // held until the template finishes. Invocations of templates that were filtered out are
+        // not reported.
+        private void templateExecutionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            TestIdentifier template = templateOf(testIdentifier);
+            if (template != null) {
+                if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED
+                        && units.containsKey(template.getUniqueId())) {
+                    heldFailures.putIfAbsent(template.getUniqueId(), testExecutionResult);
+                }
+                return;
+            }
+
+            TestExecutionResult failure = testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED
+                    ? testExecutionResult
+                    : heldFailures.remove(testIdentifier.getUniqueId());
+            if (failure != null) {
+                l.executionFinished(addUnit(testIdentifier)
+                        , false, failure.getThrowable().orElse(null));
+            } else if (units.containsKey(testIdentifier.getUniqueId())) {
+                l.executionFinished(descriptionOf(testIdentifier)
                         , true);
             }
         }
 
+        /**
+         * Test templates and factories are containers declared by a method, whose tests are only
+         * known once they run. Containers they create themselves belong to the outermost one.
+         */
+        private boolean isTemplate(TestIdentifier testIdentifier) {
+            return isDeclaredByMethod(testIdentifier) && templateOf(testIdentifier) == null;
+        }
+
+        private TestIdentifier templateOf(TestIdentifier testIdentifier) {
+            TestIdentifier template = null;
+            for (Optional<TestIdentifier> parent = testPlan.getParent(testIdentifier); parent.isPresent();
+                 parent = testPlan.getParent(parent.get())) {
+                if (isDeclaredByMethod(parent.get())) {
+                    template = parent.get();
+                }
+            }
+            return template;
+        }
+
+        private boolean isDeclaredByMethod(TestIdentifier testIdentifier) {
+            return testIdentifier.isContainer() && !testIdentifier.isTest()
+                    && testIdentifier.getSource().filter(MethodSource.class::isInstance).isPresent();
+        }
+
+        private boolean isTopLevelContainer(TestIdentifier testIdentifier) {
+            return testPlan.getParent(testIdentifier)
+                    .map(parent -> !testPlan.getParent(parent).isPresent())
+                    .orElse(false);
+        }
+
+        private TestIdentifier topLevelContainerOf(TestIdentifier testIdentifier) {
+            TestIdentifier current = testIdentifier;
+            while (!isTopLevelContainer(current)) {
+                current = testPlan.getParent(current).get();
+            }
+            return current;
+        }
+
     }
 
 }
@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * The flight recorder events. Only loaded by {@link FlightRecording} when the api is present.
+ */
+final class JfrRecorder implements FlightRecording.Recorder {
+
+    @Override
+    public FlightRecording.Span findTestUnits(String testClass) {
+        FindTestUnitsEvent event = new FindTestUnitsEvent();
+        if (!event.isEnabled()) {
+            return () -> { };
+        }
+        event.testClass = testClass;
+        event.begin();
+        return new FlightRecording.Span() {
+            @Override
+            public void units(int units) {
+                event.units = units;
+            }
+
+            @Override
+            public void close() {
+                event.commit();
+            }
+        };
+    }
+
+    @Override
+    public FlightRecording.Span launch(String phase, Supplier<String> selection) {
+        LaunchEvent event = new LaunchEvent();
+        if (!event.isEnabled()) {
+            return () -> { };
+        }
+        event.phase = phase;
+        event.selection = selection.get();
+        event.begin();
+        return event::commit;
+    }
+
+    @Override
+    public TestExecutionListener listener(String phase, Function<String, String> classNames) {
+        return new TestEvent().isEnabled() ? new TestEventListener(phase, classNames) : null;
+    }
+
+    @Name("org.pitest.junit5.FindTestUnits")
+    @Label("Find Test Units")
+    @Category({"pitest", "JUnit 5"})
+    @StackTrace(false)
+    static final class FindTestUnitsEvent extends Event {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Units")
+        int units;
+    }
+
+    @Name("org.pitest.junit5.Launch")
+    @Label("Launch")
+    @Category({"pitest", "JUnit 5"})
+    @StackTrace(false)
+    static final class LaunchEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Selection")
+        String selection;
+    }
+
+    @Name("org.pitest.junit5.Test")
+    @Label("Test")
+    @Category({"pitest", "JUnit 5"})
+    @StackTrace(false)
+    static final class TestEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Unique Id")
+        String uniqueId;
+
+        @Label("Engine")
+        String engine;
+
+        @Label("Outcome")
+        String outcome;
+    }
+
+    private static final class TestEventListener implements TestExecutionListener {
+        private final String phase;
+        private final Function<String, String> classNames;
+        private final Map<String, TestEvent> running = new ConcurrentHashMap<>();
+
+        TestEventListener(String phase, Function<String, String> classNames) {
+            this.phase = phase;
+            this.classNames = classNames;
+        }
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            if (testIdentifier.isTest()) {
+                TestEvent event = new TestEvent();
+                event.begin();
+                running.put(testIdentifier.getUniqueId(), event);
+            }
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            TestEvent event = running.remove(testIdentifier.getUniqueId());
+            if (event == null) {
+                // containers are only recorded when they fail, as tests within them are recorded
+                if (testExecutionResult.getStatus() != TestExecutionResult.Status.FAILED) {
+                    return;
+                }
+                event = new TestEvent();
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                String uniqueId = testIdentifier.getUniqueId();
+                event.phase = phase;
+                event.testClass = classNames.apply(uniqueId);
+                event.uniqueId = uniqueId;
+                event.engine = Metrics.engineOf(uniqueId);
+                event.outcome = testExecutionResult.getStatus().name();
+                event.commit();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.pitest.util.Log;
+
+/**
+ * Writes a record of where the plugin spends its time: creating the launcher, finding the units
+ * in each class, and running each test, both while units are found and when they are run against
+ * mutants. Containers that fail (e.g. in a BeforeAll method) are recorded as well.
+ *
+ * Records are written as JSON lines, or as CSV if the file name ends with <code>.csv</code>. They
+ * are appended in batches and when the jvm exits, under a lock, so several minions may share a file.
+ */
+final class Metrics {
+
+    static final String DISCOVERY = "discovery";
+
+    static final String EXECUTION = "execution";
+
+    private static final Logger LOG = Log.getLogger();
+
+    private static final String[] COLUMNS = {"event", "phase", "class", "engine", "uniqueId", "status", "units", "nanos"};
+
+    private static final int BATCH = 10_000;
+
+    private static final Map<Path, Metrics> OPEN = new ConcurrentHashMap<>();
+
+    private final Path file;
+
+    private final boolean csv;
+
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final AtomicBoolean launcherRecorded = new AtomicBoolean();
+
+    private Metrics(Path file) {
+        this.file = file;
+        this.csv = file.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    /**
+     * Returns the metrics written to the given file. Records made by the jvm are appended to any
+     * already in the file.
+     */
+    static Metrics open(Path file) {
+        return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), path -> {
+            Metrics metrics = new Metrics(path);
+            Runtime.getRuntime().addShutdownHook(new Thread(metrics::flush, "pitest-junit5-metrics"));
+            return metrics;
+        });
+    }
+
+    /**
+     * A listener to pass to the launcher alongside the plugin's own, recording the tests run in the
+     * given phase.
+     */
+    TestExecutionListener listener(String phase, Function<String, String> classNames) {
+        return new TimingListener(phase, classNames);
+    }
+
+    /**
+     * Records how long the shared launcher took to create, once per jvm.
+     */
+    void launcherCreated() {
+        long nanos = SharedLauncher.creationNanos();
+        if (nanos >= 0 && launcherRecorded.compareAndSet(false, true)) {
+            record("launcher", null, null, null, null, null, -1, nanos);
+        }
+    }
+
+    /**
+     * @param nanos time taken to find the units
+     */
+    void classFound(Class<?> clazz, int units, long nanos) {
+        record("class", DISCOVERY, clazz.getName(), null, null, null, units, nanos);
+    }
+
+    synchronized void flush() {
+        List<String> lines = new ArrayList<>();
+        for (String line = pending.poll(); line != null; line = pending.poll()) {
+            pendingCount.decrementAndGet();
+            lines.add(line);
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        Path lock = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(lock, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // released when the channel is closed
+                channel.lock();
+                if (csv && (!Files.exists(file) || Files.size(file) == 0)) {
+                    lines.add(0, csvLine(COLUMNS));
+                }
+                Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not write JUnit 5 metrics to " + file, e);
+        }
+    }
+
+    private void record(String event, String phase, String className, String engine, String uniqueId,
+                        String status, int units, long nanos) {
+        String[] values = {event, phase, className, engine, uniqueId, status,
+            units < 0 ? null : String.valueOf(units), nanos < 0 ? null : String.valueOf(nanos)};
+        pending.add(csv ? csvLine(values) : jsonLine(values));
+        if (pendingCount.incrementAndGet() >= BATCH) {
+            flush();
+        }
+    }
+
+    private static String csvLine(String[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i != values.length; i++) {
+            if (i != 0) {
+                line.append(',');
+            }
+            if (values[i] != null) {
+                line.append('"').append(values[i].replace("\"", "\"\"")).append('"');
+            }
+        }
+        return line.toString();
+    }
+
+    private static String jsonLine(String[] values) {
+        StringBuilder line = new StringBuilder("{");
+        for (int i = 0; i != values.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            if (line.length() != 1) {
+                line.append(',');
+            }
+            line.append('"').append(COLUMNS[i]).append("\":");
+            if (i >= 6) { // units and nanos are numbers
+                line.append(values[i]);
+            } else {
+                appendJsonString(line, values[i]);
+            }
+        }
+        return line.append('}').toString();
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i != value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    // unique ids begin with the engine segment, e.g. [engine:junit-jupiter]
+    static String engineOf(String uniqueId) {
+        int end = uniqueId.indexOf(']');
+        return uniqueId.startsWith("[engine:") && end > 0 ? uniqueId.substring("[engine:".length(), end) : null;
+    }
+
+    private final class TimingListener implements TestExecutionListener {
+        private final String phase;
+        private final Function<String, String> classNames;
+        private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+
+        TimingListener(String phase, Function<String, String> classNames) {
+            this.phase = phase;
+            this.classNames = classNames;
+        }
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            startTimes.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            Long start = startTimes.remove(testIdentifier.getUniqueId());
+            long nanos = start == null ? -1 : System.nanoTime() - start;
+            String uniqueId = testIdentifier.getUniqueId();
+            if (testIdentifier.isTest()) {
+                record("test", phase, classNames.apply(uniqueId), engineOf(uniqueId), uniqueId,
+                        testExecutionResult.getStatus().name(), -1, nanos);
+            } else if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+                record("container", phase, classNames.apply(uniqueId), engineOf(uniqueId), uniqueId,
+                        testExecutionResult.getStatus().name(), -1, nanos);
+            }
+        }
+    }
+
+}
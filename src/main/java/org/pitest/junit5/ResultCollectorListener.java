@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.pitest.testapi.Description;
+import org.pitest.testapi.ResultCollector;
+
+/**
+ * Reports the tests run by a launcher to a pitest result collector. Engines may run tests
+ * concurrently, so callbacks are serialised before they reach the collector.
+ */
+class ResultCollectorListener implements TestExecutionListener {
+
+    private final ResultCollector resultCollector;
+
+    private final Function<String, Description> descriptions;
+
+    private final Runnable cancellation;
+
+    private boolean cancelled;
+
+    ResultCollectorListener(ResultCollector resultCollector, Function<String, Description> descriptions) {
+        this(resultCollector, descriptions, () -> { });
+    }
+
+    /**
+     * @param cancellation run once, as soon as the result collector reports that it should exit
+     */
+    ResultCollectorListener(ResultCollector resultCollector, Function<String, Description> descriptions,
+                            Runnable cancellation) {
+        this.resultCollector = resultCollector;
+        this.descriptions = descriptions;
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public synchronized void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        if (testIdentifier.isTest()) {
+            resultCollector.notifySkipped(descriptionOf(testIdentifier));
+        }
+    }
+
+    @Override
+    public synchronized void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            resultCollector.notifyStart(descriptionOf(testIdentifier));
+        }
+    }
+
+    @Override
+    public synchronized void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Optional<Throwable> throwable = testExecutionResult.getThrowable();
+        if (testIdentifier.isTest()) {
+            if (TestExecutionResult.Status.ABORTED == testExecutionResult.getStatus()) {
+                // abort treated as success
+                // see: https://junit.org/junit5/docs/5.0.0/api/org/junit/jupiter/api/Assumptions.html
+                resultCollector.notifyEnd(descriptionOf(testIdentifier));
+            } else if (throwable.isPresent()) {
+                resultCollector.notifyEnd(descriptionOf(testIdentifier), throwable.get());
+            } else {
+                resultCollector.notifyEnd(descriptionOf(testIdentifier));
+            }
+        } else {
+            // Classes with failing BeforeAll methods identify as containers, not tests.
+            if (throwable.isPresent()) {
+                resultCollector.notifyEnd(descriptionOf(testIdentifier), throwable.get());
+            }
+        }
+        cancelIfExiting();
+    }
+
+    private synchronized void cancelIfExiting() {
+        if (!cancelled && resultCollector.shouldExit()) {
+            cancelled = true;
+            cancellation.run();
+        }
+    }
+
+    private Description descriptionOf(TestIdentifier testIdentifier) {
+        return descriptions.apply(testIdentifier.getUniqueId());
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryListener;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.pitest.util.Glob;
+
+/**
+ * Provides the single launcher used within a minion.
+ *
+ * Creating a launcher scans the classpath for engines and listeners, which is too
+ * expensive to repeat for every test that is run against every mutant. The launcher
+ * returned by the platform opens a new session for each call to discover or execute,
+ * and would repeat any scan left to auto-registration each time, so every service is
+ * loaded once here and passed in explicitly. Test execution listeners used by the
+ * plugin must be passed to each call to execute rather than registered on the
+ * returned launcher, as registered listeners would accumulate between executions.
+ */
+final class SharedLauncher {
+
+    private static final String DEACTIVATE_LISTENERS_PATTERN = "junit.platform.execution.listeners.deactivate";
+
+    private static volatile Launcher launcher;
+
+    private static volatile long creationNanos = -1;
+
+    private static volatile Set<String> engineIds = emptySet();
+
+    private SharedLauncher() {
+    }
+
+    static Launcher launcher() {
+        Launcher local = launcher;
+        if (local == null) {
+            synchronized (SharedLauncher.class) {
+                local = launcher;
+                if (local == null) {
+                    long start = System.nanoTime();
+                    local = create();
+                    creationNanos = System.nanoTime() - start;
+                    launcher = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * How long the launcher took to create, or -1 if it has not been created.
+     */
+    static long creationNanos() {
+        return creationNanos;
+    }
+
+    /**
+     * The ids of the engines found on the classpath.
+     */
+    static Set<String> engineIds() {
+        launcher();
+        return engineIds;
+    }
+
+    private static Launcher create() {
+        TestEngine[] engines = load(TestEngine.class).toArray(new TestEngine[0]);
+        Set<String> ids = new HashSet<>();
+        for (TestEngine each : engines) {
+            ids.add(each.getId());
+        }
+        engineIds = unmodifiableSet(ids);
+        LauncherConfig config = LauncherConfig.builder()
+                .enableTestEngineAutoRegistration(false)
+                .enableLauncherSessionListenerAutoRegistration(false)
+                .enableLauncherDiscoveryListenerAutoRegistration(false)
+                .enableTestExecutionListenerAutoRegistration(false)
+                .enablePostDiscoveryFilterAutoRegistration(false)
+                .addTestEngines(engines)
+                .addLauncherSessionListeners(load(LauncherSessionListener.class).toArray(new LauncherSessionListener[0]))
+                .addLauncherDiscoveryListeners(
+                        load(LauncherDiscoveryListener.class).toArray(new LauncherDiscoveryListener[0]))
+                .addTestExecutionListeners(activeListeners().toArray(new TestExecutionListener[0]))
+                .addPostDiscoveryFilters(load(PostDiscoveryFilter.class).toArray(new PostDiscoveryFilter[0]))
+                .build();
+        return LauncherFactory.create(config);
+    }
+
+    /**
+     * Applies the platform's pattern for deactivating listeners, as auto-registration would.
+     */
+    private static List<TestExecutionListener> activeListeners() {
+        List<TestExecutionListener> listeners = load(TestExecutionListener.class);
+        LauncherDiscoveryRequestBuilder.request().build().getConfigurationParameters()
+                .get(DEACTIVATE_LISTENERS_PATTERN)
+                .map(patterns -> Glob.toGlobPredicates(asList(patterns.trim().split("\\s*,\\s*"))))
+                .ifPresent(deactivated -> listeners.removeIf(listener -> deactivated.stream()
+                        .anyMatch(glob -> glob.test(listener.getClass().getName()))));
+        return listeners;
+    }
+
+    private static <T> List<T> load(Class<T> service) {
+        List<T> found = new ArrayList<>();
+        ServiceLoader.load(service, Thread.currentThread().getContextClassLoader())
+                .forEach(found::add);
+        return found;
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.unmodifiableSet;
+
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.reloc.asm.AnnotationVisitor;
+import org.pitest.reloc.asm.ClassReader;
+import org.pitest.reloc.asm.ClassVisitor;
+import org.pitest.reloc.asm.MethodVisitor;
+import org.pitest.reloc.asm.Opcodes;
+
+/**
+ * Reads the bytecode of a class to decide, without a call to the launcher, which of the engines
+ * the plugin knows about could find tests in it.
+ *
+ * An engine could find tests in a class if the class, a supertype or a member class extends a
+ * type from the engine's framework (e.g. Spock's Specification or JUnit 3's TestCase), or carries
+ * an annotation that is declared in, or meta-annotated from, one of its packages. A JUnit 3 suite
+ * method is also claimed by Vintage. Annotations from the platform itself (e.g. Testable) could
+ * be used by any engine, as could anything whose bytecode cannot be read. Engines the plugin does
+ * not know might find tests anywhere, so no scanner is used when any are present.
+ */
+final class TestCandidateScanner {
+
+    static final String JUPITER = "junit-jupiter";
+    static final String VINTAGE = "junit-vintage";
+    static final String SPOCK = "spock";
+    static final String CUCUMBER = "cucumber";
+
+    static final Set<String> KNOWN_ENGINES = new HashSet<>(Arrays.asList(
+            JUPITER, VINTAGE, JUnit5TestSuiteFinder.SUITE_ENGINE, SPOCK, CUCUMBER));
+
+    private static final String ANY = "*";
+
+    // most specific first
+    private static final String[][] FRAMEWORK_PACKAGES = {
+        {"org/junit/jupiter/", JUPITER},
+        {"org/junit/platform/suite/", JUnit5TestSuiteFinder.SUITE_ENGINE},
+        {"org/junit/platform/", ANY},
+        {"org/junit/", VINTAGE},
+        {"junit/framework/", VINTAGE},
+        {"spock/", SPOCK},
+        {"org/spockframework/", SPOCK},
+        {"io/cucumber/", CUCUMBER}
+    };
+
+    private final Set<String> available;
+
+    private final ClassByteArraySource source;
+
+    private final Map<String, Set<String>> types = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> annotations = new ConcurrentHashMap<>();
+
+    TestCandidateScanner(Collection<String> available, ClassByteArraySource source) {
+        this.available = new HashSet<>(available);
+        this.source = source;
+    }
+
+    /**
+     * Returns a scanner for the given engines, or null if any of them is one the scanner does not
+     * know about.
+     */
+    static TestCandidateScanner forEngines(Collection<String> engineIds, ClassByteArraySource source) {
+        return KNOWN_ENGINES.containsAll(engineIds) ? new TestCandidateScanner(engineIds, source) : null;
+    }
+
+    /**
+     * Returns the ids of the available engines that could find tests in the class, or null if any
+     * of them could.
+     */
+    Set<String> enginesFor(Class<?> clazz) {
+        Set<String> engines = enginesOf(internalName(clazz.getName()), new HashSet<>());
+        if (engines.contains(ANY)) {
+            return null;
+        }
+        Set<String> result = new HashSet<>(engines);
+        result.retainAll(available);
+        return result;
+    }
+
+    boolean mayContainTests(Class<?> clazz) {
+        Set<String> engines = enginesFor(clazz);
+        return engines == null || !engines.isEmpty();
+    }
+
+    private Set<String> enginesOf(String type, Set<String> visiting) {
+        String framework = frameworkOf(type);
+        if (framework != null) {
+            return singleton(framework);
+        }
+        if (type.startsWith("java/") || !visiting.add(type)) {
+            return emptySet();
+        }
+        Set<String> known = types.get(type);
+        if (known != null) {
+            return known;
+        }
+
+        Optional<Summary> summary = read(type);
+        Set<String> result = summary.isPresent() ? enginesOf(summary.get(), visiting) : singleton(ANY);
+        types.put(type, result);
+        return result;
+    }
+
+    private Set<String> enginesOf(Summary summary, Set<String> visiting) {
+        Set<String> engines = new HashSet<>();
+        if (summary.suiteMethod) {
+            engines.add(VINTAGE);
+        }
+        for (String each : summary.annotations) {
+            engines.addAll(enginesOfAnnotation(each, new HashSet<>()));
+        }
+        for (String each : summary.relatedTypes) {
+            engines.addAll(enginesOf(each, visiting));
+        }
+        return unmodifiableSet(engines);
+    }
+
+    private Set<String> enginesOfAnnotation(String type, Set<String> visiting) {
+        String framework = frameworkOf(type);
+        if (framework != null) {
+            return singleton(framework);
+        }
+        if (type.startsWith("java/") || type.startsWith("kotlin/") || !visiting.add(type)) {
+            return emptySet();
+        }
+        Set<String> known = annotations.get(type);
+        if (known != null) {
+            return known;
+        }
+
+        // an annotation that cannot be loaded is invisible to the engines too
+        Set<String> engines = new HashSet<>();
+        Optional<Summary> summary = read(type);
+        if (summary.isPresent()) {
+            for (String each : summary.get().annotations) {
+                engines.addAll(enginesOfAnnotation(each, visiting));
+            }
+        }
+        Set<String> result = unmodifiableSet(engines);
+        annotations.put(type, result);
+        return result;
+    }
+
+    private Optional<Summary> read(String type) {
+        Optional<byte[]> bytes = source.getBytes(type.replace('/', '.'));
+        if (!bytes.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            Summary summary = new Summary(type);
+            new ClassReader(bytes.get()).accept(summary,
+                    ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            return Optional.of(summary);
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String frameworkOf(String type) {
+        for (String[] each : FRAMEWORK_PACKAGES) {
+            if (type.startsWith(each[0])) {
+                return each[1];
+            }
+        }
+        return null;
+    }
+
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    private static String typeOf(String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1);
+    }
+
+    /**
+     * The parts of a class that show whether it could contain tests.
+     */
+    private static final class Summary extends ClassVisitor {
+        private final String type;
+        private final List<String> annotations = new ArrayList<>();
+        private final List<String> relatedTypes = new ArrayList<>();
+        private boolean suiteMethod;
+
+        Summary(String type) {
+            super(Opcodes.ASM9);
+            this.type = type;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName,
+                String[] interfaces) {
+            if (superName != null) {
+                relatedTypes.add(superName);
+            }
+            relatedTypes.addAll(Arrays.asList(interfaces));
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access) {
+            if (type.equals(outerName)) {
+                relatedTypes.add(name);
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            if (visible) {
+                annotations.add(typeOf(descriptor));
+            }
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                String[] exceptions) {
+            if ((access & Opcodes.ACC_STATIC) != 0 && name.equals("suite") && descriptor.startsWith("()")) {
+                suiteMethod = true;
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String annotation, boolean visible) {
+                    if (visible) {
+                        annotations.add(typeOf(annotation));
+                    }
+                    return null;
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.stream.Collectors.joining;
+
+import org.pitest.junit.JUnitCompatibleConfiguration;
+import org.pitest.testapi.Configuration;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestSuiteFinder;
+import org.pitest.util.Log;
+
+/**
+ * Recognises the JUnit 4 suites that pitest's own JUnit 4 support expands into their members.
+ *
+ * pitest asks each test plugin in turn for the members of a suite, and then finds the units in
+ * the suite and in each of its members. When the Vintage engine is present the suite class is
+ * itself a container of the members' tests, so without intervention every test in a JUnit 4
+ * suite would be run twice, once under the suite and once under its own class. The members are
+ * found either way, so the suite is not run through Vintage. Each suppressed suite is logged.
+ */
+final class VintageSuites {
+
+    private static final Logger LOG = Log.getLogger();
+
+    static final String VINTAGE_ENGINE = "junit-vintage";
+
+    private final TestSuiteFinder junit4SuiteFinder;
+
+    private final Map<Class<?>, Boolean> expanded = new ConcurrentHashMap<>();
+
+    private VintageSuites(TestSuiteFinder junit4SuiteFinder) {
+        this.junit4SuiteFinder = junit4SuiteFinder;
+    }
+
+    /**
+     * Returns null unless pitest's JUnit 4 support is usable, which it is whenever the Vintage
+     * engine is, as both need JUnit 4.
+     */
+    static VintageSuites create(TestGroupConfig testGroupConfig, Collection<String> excludedRunners,
+            Collection<String> includedTestMethods) {
+        try {
+            Configuration junit4 = new JUnitCompatibleConfiguration(testGroupConfig, excludedRunners,
+                    includedTestMethods);
+            if (junit4.verifyEnvironment().isPresent()) {
+                return null;
+            }
+            return new VintageSuites(junit4.testSuiteFinder());
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    boolean isExpanded(Class<?> clazz) {
+        Boolean known = expanded.get(clazz);
+        if (known == null) {
+            known = members(clazz);
+            expanded.put(clazz, known);
+        }
+        return known;
+    }
+
+    private boolean members(Class<?> clazz) {
+        List<Class<?>> members;
+        try {
+            members = junit4SuiteFinder.apply(clazz);
+        } catch (RuntimeException | LinkageError e) {
+            LOG.log(Level.FINE, "Could not find JUnit 4 suite members of " + clazz.getName(), e);
+            return false;
+        }
+        if (members.isEmpty()) {
+            return false;
+        }
+        LOG.info(() -> "Not running JUnit 4 suite " + clazz.getName() + " through the Vintage engine, as its "
+                + members.size() + " member classes are run individually: "
+                + members.stream().map(Class::getName).collect(joining(", ")));
+        return true;
+    }
+
+}
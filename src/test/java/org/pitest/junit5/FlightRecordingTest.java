@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pitest.junit5.JUnit5TestUnitTest.TestResultCollector;
+import org.pitest.junit5.repository.TestClassWithFailingTest;
+import org.pitest.testapi.NullExecutionListener;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
+
+class FlightRecordingTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsFindingAndRunningUnits() throws IOException {
+        String className = TestClassWithFailingTest.class.getName();
+        List<RecordedEvent> events = recording(() -> {
+            List<TestUnit> units = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList())
+                    .findTestUnits(TestClassWithFailingTest.class, new NullExecutionListener());
+            units.forEach(unit -> unit.execute(new TestResultCollector()));
+        });
+
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("org.pitest.junit5.FindTestUnits"))
+                .hasSize(1)
+                .allMatch(event -> event.getString("testClass").equals(className) && event.getInt("units") == 1);
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("org.pitest.junit5.Launch"))
+                .extracting(event -> event.getString("phase"))
+                .containsExactly(Metrics.DISCOVERY, Metrics.EXECUTION);
+        assertThat(events).filteredOn(event -> event.getEventType().getName().equals("org.pitest.junit5.Test"))
+                .hasSize(2)
+                .allMatch(event -> event.getString("testClass").equals(className)
+                        && event.getString("engine").equals("junit-jupiter")
+                        && event.getString("outcome").equals("FAILED"));
+    }
+
+    @Test
+    void recordsNothingWhenNotRecording() {
+        try (FlightRecording.Span span = FlightRecording.launch(Metrics.EXECUTION, () -> {
+            throw new AssertionError("selection described without a recording");
+        })) {
+            span.units(1);
+        }
+    }
+
+    private List<RecordedEvent> recording(Runnable work) throws IOException {
+        Path file = dir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.pitest.junit5.FindTestUnits").withThreshold(Duration.ZERO);
+            recording.enable("org.pitest.junit5.Launch").withThreshold(Duration.ZERO);
+            recording.enable("org.pitest.junit5.Test").withThreshold(Duration.ZERO);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.pitest.junit5.repository.TestClassSuiteOfFeatures;
+import org.pitest.junit5.repository.TestClassSuiteSelectingClasses;
+import org.pitest.junit5.repository.TestClassSuiteSelectingPackage;
+import org.pitest.junit5.repository.TestClassSuiteWithConfigurationParameter;
+import org.pitest.junit5.repository.TestClassSuiteWithTagFilter;
+import org.pitest.junit5.repository.TestClassWithMultiplePassingTests;
+import org.pitest.junit5.repository.TestClassWithTestAnnotation;
+import org.pitest.junit5.repository.suite.TestClassInSuitePackage;
+import org.pitest.testapi.NullExecutionListener;
+import org.pitest.testapi.TestGroupConfig;
+
+class JUnit5TestSuiteFinderTest {
+
+    private final JUnit5TestSuiteFinder underTest = new JUnit5TestSuiteFinder();
+
+    @Test
+    void findsNoMembersForClassesThatAreNotSuites() {
+        assertThat(underTest.apply(TestClassWithTestAnnotation.class)).isEmpty();
+    }
+
+    @Test
+    void findsSelectedClasses() {
+        assertThat(underTest.apply(TestClassSuiteSelectingClasses.class))
+                .containsExactly(TestClassWithTestAnnotation.class, TestClassWithMultiplePassingTests.class);
+    }
+
+    @Test
+    void findsClassesInSelectedPackages() {
+        assertThat(underTest.apply(TestClassSuiteSelectingPackage.class))
+                .containsExactly(TestClassInSuitePackage.class);
+    }
+
+    @Test
+    void doesNotExpandSuitesSelectingTestsWithoutClasses() {
+        assertThat(underTest.apply(TestClassSuiteOfFeatures.class)).isEmpty();
+    }
+
+    @Test
+    void doesNotExpandSuitesWithFilters() {
+        assertThat(underTest.apply(TestClassSuiteWithTagFilter.class)).isEmpty();
+    }
+
+    @Test
+    void doesNotExpandSuitesWithConfigurationParameters() {
+        assertThat(underTest.apply(TestClassSuiteWithConfigurationParameter.class)).isEmpty();
+    }
+
+    @Test
+    void runsSuitesThatAreNotExpandedWithTheirFilters() {
+        RecordingListener l = new RecordingListener();
+        new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList())
+                .findTestUnits(TestClassSuiteWithTagFilter.class, l);
+
+        assertThat(l.started).hasSize(1)
+                .allMatch(description -> description.getName().endsWith("[method:testWithIncludedTag()]"));
+    }
+
+    @Test
+    void reusesExpansionOfSuite() {
+        assertThat(new JUnit5TestSuiteFinder().apply(TestClassSuiteSelectingClasses.class))
+                .isSameAs(underTest.apply(TestClassSuiteSelectingClasses.class));
+    }
+
+    @Test
+    void findsNoUnitsInExpandedSuites() {
+        JUnit5TestUnitFinder finder = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList());
+
+        assertThat(finder.findTestUnits(TestClassSuiteSelectingClasses.class, new NullExecutionListener())).isEmpty();
+    }
+
+}
@@ -14,25 +14,37 @@
  */
 package org.pitest.junit5;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 import org.opentest4j.AssertionFailedError;
 import org.pitest.junit5.cucumber.RunCucumberTest;
+import org.pitest.junit.JUnitCompatibleConfiguration;
 import org.pitest.junit5.repository.AbstractTestClass;
 import org.pitest.junit5.repository.InterfaceTestClass;
 import org.pitest.junit5.repository.ParameterizedNoExplicitSource;
+import org.pitest.junit5.repository.TestClassJUnit4;
+import org.pitest.junit5.repository.TestClassJUnit4Suite;
 import org.pitest.junit5.repository.TestClassWithAbortingTest;
 import org.pitest.junit5.repository.TestClassWithAfterAll;
 import org.pitest.junit5.repository.TestClassWithBeforeAll;
+import org.pitest.junit5.repository.TestClassWithConcurrentTests;
+import org.pitest.junit5.repository.TestClassWithDisabledTest;
 import org.pitest.junit5.repository.TestClassWithFailingAfterAll;
 import org.pitest.junit5.repository.TestClassWithFailingBeforeAll;
+import org.pitest.junit5.repository.TestClassWithFailingParameterizedTest;
 import org.pitest.junit5.repository.TestClassWithFailingTest;
 import org.pitest.junit5.repository.TestClassWithIncludedTestMethod;
 import org.pitest.junit5.repository.TestClassWithInheritedTestMethod;
 import org.pitest.junit5.repository.TestClassWithMixedPassAndFail;
+import org.pitest.junit5.repository.TestClassWithManyDynamicTests;
 import org.pitest.junit5.repository.TestClassWithMultiplePassingTests;
 import org.pitest.junit5.repository.TestClassWithNestedAnnotationAndNestedTestAnnotation;
 import org.pitest.junit5.repository.TestClassWithNestedAnnotationAndNestedTestFactoryAnnotation;
@@ -43,8 +55,10 @@ import org.pitest.junit5.repository.TestClassWithNestedClassWithNestedAnnotation
 import org.pitest.junit5.repository.TestClassWithNestedClassWithoutAnnotations;
 import org.pitest.junit5.repository.TestClassWithParameterizedTestAnnotation;
 import org.pitest.junit5.repository.TestClassWithRepeatedTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithSlowAndFastTests;
 import org.pitest.junit5.repository.TestClassWithTags;
 import org.pitest.junit5.repository.TestClassWithTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithTestsInNestedClass;
 import org.pitest.junit5.repository.TestClassWithTestFactoryAnnotation;
 import org.pitest.junit5.repository.TestClassWithTestTemplateAnnotation;
 import org.pitest.junit5.repository.TestClassWithoutAnnotations;
@@ -62,16 +76,27 @@ import org.pitest.junit5.repository.TestSpecWithSetupSpec;
 import org.pitest.junit5.repository.TestSpecWithSimpleFeature;
 import org.pitest.junit5.repository.TestSpecWithTags;
 import org.pitest.junit5.repository.TestSpecWithoutFeatures;
+import org.pitest.classinfo.ClassByteArraySource;
+import org.pitest.classpath.ClassloaderByteArraySource;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.ExecutedInDiscovery;
 import org.pitest.testapi.NullExecutionListener;
 import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestSuiteFinder;
 import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.execute.FindTestUnits;
 import org.pitest.testapi.TestUnitExecutionListener;
 import org.spockframework.runtime.ConditionNotSatisfiedError;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -265,6 +290,52 @@ class JUnit5TestUnitFinderTest {
         findsAndRunsNTests(1, new JUnit5TestUnitFinder(new TestGroupConfig(), singletonList("included")), TestSpecWithIncludedFeature.class);
     }
 
+    @Test
+    void findsJUnit4TestsThroughVintage() {
+        findsAndRunsNTests(2, TestClassJUnit4.class);
+    }
+
+    @Test
+    void leavesJUnit4SuitesToPitestsSuiteFinder() {
+        findsAndRunsNTests(0, TestClassJUnit4Suite.class);
+    }
+
+    @Test
+    void findsJUnit4SuiteMembersOnce() {
+        List<TestUnit> units = new FindTestUnits(new JUnit5Configuration(new TestGroupConfig(), emptyList()) {
+            @Override
+            public TestSuiteFinder testSuiteFinder() {
+                // combined with pitest's JUnit 4 support as pitest does, asking this plugin first
+                TestSuiteFinder junit5 = super.testSuiteFinder();
+                TestSuiteFinder junit4 = new JUnitCompatibleConfiguration(new TestGroupConfig(), emptyList(), emptyList())
+                        .testSuiteFinder();
+                return clazz -> junit5.apply(clazz).isEmpty() ? junit4.apply(clazz) : junit5.apply(clazz);
+            }
+        }).findTestUnitsForAllSuppliedClasses(singletonList(TestClassJUnit4Suite.class));
+
+        assertThat(units).hasSize(2);
+    }
+
+    @Test
+    void excludesEnginesNamedAsExcludedRunners() {
+        JUnit5TestUnitFinder underTest = excludingRunners("spock");
+        findsAndRunsNTests(0, underTest, TestSpecWithSimpleFeature.class);
+        findsAndRunsNTests(3, underTest, TestClassWithMultiplePassingTests.class);
+    }
+
+    @Test
+    void excludesTestClassesMatchingExcludedRunners() {
+        JUnit5TestUnitFinder underTest = excludingRunners("*MultiplePassing*");
+        findsAndRunsNTests(0, underTest, TestClassWithMultiplePassingTests.class);
+        findsAndRunsNTests(1, underTest, TestClassWithTestAnnotation.class);
+    }
+
+    @Test
+    void excludesNestedClassesMatchingExcludedRunners() {
+        findsAndRunsNTests(3, basicConfig(), TestClassWithTestsInNestedClass.class);
+        findsAndRunsNTests(1, excludingRunners("*$Slow"), TestClassWithTestsInNestedClass.class);
+    }
+
     @Test
     void excludesTestsByTag() {
         findsAndRunsNTests(3, new JUnit5TestUnitFinder(new TestGroupConfig().withExcludedGroups("excluded"), emptyList()), TestClassWithTags.class);
@@ -366,6 +437,337 @@ class JUnit5TestUnitFinderTest {
         findsAndRunsNTests(1, RunCucumberTest.class);
     }
 
+    @Test
+    void findsOneUnitForWholeClassWhenClassUnitsSelected() {
+        JUnit5TestUnitFinder underTest = classUnitsFor("*TestClassWithMultiplePassingTests");
+        findsAndRunsNTests(1, underTest, TestClassWithMultiplePassingTests.class);
+        assertThat(underTest.findTestUnits(TestClassWithMultiplePassingTests.class, new NullExecutionListener()))
+                .hasSize(1);
+    }
+
+    @Test
+    void includesNestedClassesInClassUnits() {
+        findsAndRunsNTests(1, classUnitsFor("org.pitest.junit5.repository.*"),
+                TestClassWithNestedAnnotationWithNestedAnnotationAndNestedTestAnnotation.class);
+    }
+
+    @Test
+    void failsClassUnitWhenAnyTestFails() {
+        RecordingListener l = run(classUnitsFor("org.pitest.junit5.repository.*"), TestClassWithMixedPassAndFail.class);
+        assertThat(l.passed).isEmpty();
+        assertThat(l.failed).hasSize(1);
+        assertThat(l.errors).hasSize(1);
+    }
+
+    @Test
+    void failsClassUnitWhenBeforeAllFails() {
+        RecordingListener l = run(classUnitsFor("org.pitest.junit5.repository.*"), TestClassWithFailingBeforeAll.class);
+        assertThat(l.failed).hasSize(1);
+    }
+
+    @Test
+    void findsClassUnitsForSpockSpecs() {
+        findsAndRunsNTests(1, classUnitsFor("org.pitest.junit5.repository.*"), TestSpecWithMultiplePassingFeatures.class);
+    }
+
+    @Test
+    void findsOneUnitPerTemplateWhenTemplateUnitsSelected() {
+        findsAndRunsNTests(2, templateUnits(), TestClassWithParameterizedTestAnnotation.class);
+        findsAndRunsNTests(1, templateUnits(), TestClassWithRepeatedTestAnnotation.class);
+        findsAndRunsNTests(1, templateUnits(), TestClassWithTestFactoryAnnotation.class);
+        findsAndRunsNTests(1, templateUnits(), TestClassWithNestedAnnotationAndNestedTestFactoryAnnotation.class);
+        assertThat(templateUnits().findTestUnits(TestClassWithParameterizedTestAnnotation.class, new NullExecutionListener()))
+                .hasSize(2);
+    }
+
+    @Test
+    void failsTemplateUnitWhenAnyInvocationFails() {
+        RecordingListener l = run(templateUnits(), TestClassWithFailingParameterizedTest.class);
+        assertThat(l.passed).hasSize(1);
+        assertThat(l.passed.get(0).getName()).endsWith("[method:passingTest()]");
+        assertThat(l.failed).hasSize(1);
+        assertThat(l.failed.get(0).getName()).endsWith("[test-template:parameterizedTest(int)]");
+        assertThat(l.errors).hasSize(1);
+    }
+
+    @Test
+    void appliesIncludedTestMethodsToTemplateUnits() {
+        JUnit5TestUnitFinder underTest = new JUnit5TestUnitFinder(new TestGroupConfig(), singletonList("passingTest"),
+                settingsWith(JUnit5Settings.TEMPLATE_UNITS, "true"));
+        RecordingListener l = run(underTest, TestClassWithFailingParameterizedTest.class);
+        assertThat(l.started).hasSize(1);
+        assertThat(l.failed).isEmpty();
+    }
+
+    @Test
+    void findsUnitPerTestForClassesNotSelectedAsClassUnits() {
+        findsAndRunsNTests(4, classUnitsFor("*TestClassWithMultiplePassingTests"), TestClassWithTags.class);
+    }
+
+    @Test
+    void excludesTestsOfExcludedGroupsWhenExecutingClassUnits() {
+        JUnit5TestUnitTest.TestResultCollector collector = executeClassUnit(
+                new TestGroupConfig().withExcludedGroups("excluded"), emptyList(), emptyList(), TestClassWithTags.class);
+
+        assertThat(collector.getStarted()).hasSize(3)
+                .noneMatch(description -> description.getName().endsWith("[method:testWithExcludedTag()]"));
+    }
+
+    @Test
+    void runsOnlyIncludedTestMethodsWhenExecutingClassUnits() {
+        JUnit5TestUnitTest.TestResultCollector collector = executeClassUnit(
+                new TestGroupConfig(), singletonList("testWithTag"), emptyList(), TestClassWithTags.class);
+
+        assertThat(collector.getStarted()).hasSize(1)
+                .allMatch(description -> description.getName().endsWith("[method:testWithTag()]"));
+    }
+
+    @Test
+    void excludesNestedClassesMatchingExcludedRunnersWhenExecutingClassUnits() {
+        JUnit5TestUnitTest.TestResultCollector collector = executeClassUnit(
+                new TestGroupConfig(), emptyList(), singletonList("*$Slow"), TestClassWithTestsInNestedClass.class);
+
+        assertThat(collector.getStarted()).hasSize(1)
+                .allMatch(description -> description.getName().endsWith("[method:test()]"));
+    }
+
+    @Test
+    void appliesIncludedTestMethodsToClassUnitsWhenFindingTests() {
+        JUnit5TestUnitFinder underTest = new JUnit5TestUnitFinder(new TestGroupConfig(), asList("passingTest", "passingTest2"),
+                settingsWith(JUnit5Settings.CLASS_UNITS, "*TestClassWithMixedPassAndFail"));
+
+        RecordingListener l = run(underTest, TestClassWithMixedPassAndFail.class);
+
+        assertThat(l.passed).hasSize(1);
+        assertThat(l.failed).isEmpty();
+    }
+
+    @Test
+    void findsTestsWithoutRunningThemInDiscoveryOnlyMode() {
+        RecordingListener l = new RecordingListener();
+        List<TestUnit> units = discoveryOnly().findTestUnits(TestClassWithMultiplePassingTests.class, l);
+
+        assertThat(units).hasSize(3);
+        assertThat(units).noneMatch(tu -> tu instanceof ExecutedInDiscovery);
+        assertThat(l.started).isEmpty();
+    }
+
+    @Test
+    void discoveredTestsMatchThoseRunDuringDiscovery() {
+        List<Description> runInDiscovery = run(basicConfig(), TestSpecWithMultiplePassingFeatures.class).started;
+        List<Description> discovered = discoveryOnly()
+                .findTestUnits(TestSpecWithMultiplePassingFeatures.class, new NullExecutionListener())
+                .stream()
+                .map(tu -> tu.getDescription())
+                .collect(Collectors.toList());
+
+        assertThat(discovered).containsExactlyInAnyOrderElementsOf(runInDiscovery);
+    }
+
+    @Test
+    void findsOneUnitPerTemplateOrFactoryInDiscoveryOnlyMode() {
+        assertThat(discoveryOnly().findTestUnits(TestClassWithParameterizedTestAnnotation.class, new NullExecutionListener()))
+                .hasSize(2);
+        assertThat(discoveryOnly().findTestUnits(TestClassWithTestFactoryAnnotation.class, new NullExecutionListener()))
+                .hasSize(1);
+        assertThat(discoveryOnly().findTestUnits(TestClassWithNestedAnnotationAndNestedTestFactoryAnnotation.class, new NullExecutionListener()))
+                .hasSize(1);
+    }
+
+    @Test
+    void findsNoTestsInDiscoveryOnlyModeWhenNoneDefined() {
+        assertThat(discoveryOnly().findTestUnits(TestClassWithoutAnnotations.class, new NullExecutionListener()))
+                .isEmpty();
+        assertThat(discoveryOnly().findTestUnits(AbstractTestClass.class, new NullExecutionListener()))
+                .isEmpty();
+    }
+
+    @Test
+    void usesCachedUnitsForUnchangedClasses(@TempDir Path dir) {
+        Path cacheFile = dir.resolve("cache");
+        JUnit5TestUnitFinder underTest = discoveryCachedIn(cacheFile, ClassloaderByteArraySource.fromContext());
+        Class<?> clazz = TestClassWithMultiplePassingTests.class;
+        String cachedId = "[engine:junit-jupiter]/[class:" + clazz.getName() + "]/[method:cached()]";
+        DiscoveryCache.open(cacheFile)
+                .store(clazz, underTest.fingerprint(clazz), singletonList(new DiscoveredJUnit5TestUnit(clazz, cachedId)));
+
+        List<TestUnit> units = underTest.findTestUnits(clazz, new NullExecutionListener());
+
+        assertThat(units).extracting(tu -> tu.getDescription().getName()).containsExactly(cachedId);
+        DiscoveryCache.open(cacheFile).save();
+    }
+
+    @Test
+    void rediscoversClassesWhoseBytecodeHasChanged(@TempDir Path dir) {
+        Path cacheFile = dir.resolve("cache");
+        Class<?> clazz = TestClassWithMultiplePassingTests.class;
+        JUnit5TestUnitFinder before = discoveryCachedIn(cacheFile, versionedBytes("1"));
+        DiscoveryCache.open(cacheFile).store(clazz, before.fingerprint(clazz), emptyList());
+        JUnit5TestUnitFinder after = discoveryCachedIn(cacheFile, versionedBytes("2"));
+
+        assertThat(after.fingerprint(clazz)).isNotEqualTo(before.fingerprint(clazz));
+        assertThat(after.findTestUnits(clazz, new NullExecutionListener())).hasSize(3);
+        DiscoveryCache.open(cacheFile).save();
+    }
+
+    @Test
+    void persistsDiscoveredUnitsBetweenRuns(@TempDir Path dir) {
+        Path cacheFile = dir.resolve("cache");
+        JUnit5TestUnitFinder underTest = discoveryCachedIn(cacheFile, ClassloaderByteArraySource.fromContext());
+        List<TestUnit> discovered = underTest.findTestUnits(TestSpecWithMultiplePassingFeatures.class, new NullExecutionListener());
+        DiscoveryCache.open(cacheFile).save();
+
+        List<TestUnit> cached = cachedUnits(DiscoveryCache.load(cacheFile), underTest, TestSpecWithMultiplePassingFeatures.class);
+
+        assertThat(cached).extracting(TestUnit::getDescription)
+                .containsExactlyElementsOf(discovered.stream().map(TestUnit::getDescription).collect(Collectors.toList()));
+    }
+
+    @Test
+    void doesNotCacheUnitsFromContainersWithoutAClassSource(@TempDir Path dir) {
+        Path cacheFile = dir.resolve("cache");
+        JUnit5TestUnitFinder underTest = discoveryCachedIn(cacheFile, ClassloaderByteArraySource.fromContext());
+        assertThat(underTest.findTestUnits(RunCucumberTest.class, new NullExecutionListener())).isNotEmpty();
+        DiscoveryCache.open(cacheFile).save();
+
+        assertThat(cachedUnits(DiscoveryCache.load(cacheFile), underTest, RunCucumberTest.class)).isNull();
+    }
+
+    @Test
+    @Timeout(120)
+    @Tag("scale")
+    void findsVeryLargeNumbersOfDynamicTests() {
+        RecordingListener l = new RecordingListener();
+
+        List<TestUnit> units = basicConfig().findTestUnits(TestClassWithManyDynamicTests.class, l);
+
+        assertThat(units).hasSize(TestClassWithManyDynamicTests.TESTS);
+        assertThat(units.stream().map(TestUnit::getDescription).distinct().count())
+                .isEqualTo(TestClassWithManyDynamicTests.TESTS);
+        assertThat(units.get(0).getDescription().getName()).endsWith("[dynamic-test:#1]");
+        assertThat(l.failed).hasSize(TestClassWithManyDynamicTests.TESTS / TestClassWithManyDynamicTests.FAILING_EVERY);
+    }
+
+    @Test
+    void returnsUnitsInTheOrderTheyRanByDefault() {
+        List<TestUnit> units = basicConfig().findTestUnits(TestClassWithSlowAndFastTests.class, new NullExecutionListener());
+
+        assertThat(units).extracting(tu -> tu.getDescription().getName())
+                .containsExactly(uniqueIdOf("slowTest"), uniqueIdOf("fastTest"));
+    }
+
+    @Test
+    void runsTestsWithinClassUnitsConcurrentlyWhenParallelClassUnitsEnabled(@TempDir Path dir) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.CLASS_UNITS, "*TestClassWithConcurrentTests");
+        properties.setProperty(JUnit5Settings.PARALLEL_CLASS_UNITS, "true");
+        JUnit5TestUnitFinder underTest = withTwoWorkerThreads(dir, properties);
+
+        RecordingListener l = run(underTest, TestClassWithConcurrentTests.class);
+
+        assertThat(l.passed).hasSize(1);
+        assertThat(l.failed).isEmpty();
+    }
+
+    @Test
+    void runsTestsThatAreUnitsOneAtATimeWhenParallelClassUnitsEnabled(@TempDir Path dir) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.PARALLEL_CLASS_UNITS, "true");
+        JUnit5TestUnitFinder underTest = withTwoWorkerThreads(dir, properties);
+
+        RecordingListener l = run(underTest, TestClassWithConcurrentTests.class);
+
+        // the first test to run gives up waiting for the second
+        assertThat(l.failed).hasSize(1);
+    }
+
+    @Test
+    void executesClassUnitsConcurrentlyWhenParallelClassUnitsEnabled(@TempDir Path dir) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.CLASS_UNITS, "*TestClassWithConcurrentTests");
+        properties.setProperty(JUnit5Settings.PARALLEL_CLASS_UNITS, "true");
+        JUnit5TestUnitFinder underTest = withTwoWorkerThreads(dir, properties);
+        List<TestUnit> units = underTest.findTestUnits(TestClassWithConcurrentTests.class, new NullExecutionListener());
+        JUnit5TestUnitTest.TestResultCollector collector = new JUnit5TestUnitTest.TestResultCollector();
+
+        units.get(0).execute(collector);
+
+        assertThat(collector.getFailure()).isEmpty();
+    }
+
+    @Test
+    void passesCoverageConfigurationParametersWhenFindingTests(@TempDir Path dir) throws Exception {
+        Path file = configurationFile(dir, "coverage.junit.jupiter.conditions.deactivate=org.junit.*DisabledCondition");
+
+        findsAndRunsNTests(1, configuredBy(file), TestClassWithDisabledTest.class);
+    }
+
+    @Test
+    void doesNotPassMutationConfigurationParametersWhenFindingTests(@TempDir Path dir) throws Exception {
+        Path file = configurationFile(dir, "mutation.junit.jupiter.conditions.deactivate=org.junit.*DisabledCondition");
+
+        findsAndRunsNTests(0, configuredBy(file), TestClassWithDisabledTest.class);
+    }
+
+    @Test
+    void passesMutationConfigurationParametersWhenRunningUnits(@TempDir Path dir) throws Exception {
+        Path file = configurationFile(dir, "junit.jupiter.conditions.deactivate=org.junit.*DisabledCondition",
+                "mutation.junit.jupiter.conditions.deactivate=org.junit.*NoSuchCondition");
+        List<TestUnit> units = configuredBy(file).findTestUnits(TestClassWithDisabledTest.class, new NullExecutionListener());
+        JUnit5TestUnitTest.TestResultCollector collector = new JUnit5TestUnitTest.TestResultCollector();
+
+        units.get(0).execute(collector);
+
+        assertThat(collector.getSkipped()).hasSize(1);
+    }
+
+    @Test
+    void runsTestsThatAreUnitsOneAtATimeWhateverTheConfiguration(@TempDir Path dir) throws Exception {
+        JUnit5TestUnitFinder underTest = withTwoWorkerThreads(dir, new Properties(),
+                "junit.jupiter.execution.parallel.enabled=true");
+
+        RecordingListener l = run(underTest, TestClassWithConcurrentTests.class);
+
+        assertThat(l.failed).hasSize(1);
+    }
+
+    @Test
+    void reportsUnreadableConfigurationFiles(@TempDir Path dir) {
+        String missing = dir.resolve("missing.properties").toString();
+
+        assertThatThrownBy(() -> finderWith(JUnit5Settings.CONFIGURATION_FILE, missing))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Path configurationFile(Path dir, String... lines) throws IOException {
+        return Files.write(dir.resolve("junit5.properties"), Arrays.asList(lines));
+    }
+
+    private static JUnit5TestUnitFinder configuredBy(Path configurationFile) {
+        return finderWith(JUnit5Settings.CONFIGURATION_FILE, configurationFile.toString());
+    }
+
+    // the default number of workers matches the number of processors, which may be one
+    private static JUnit5TestUnitFinder withTwoWorkerThreads(Path dir, Properties properties, String... configuration)
+            throws IOException {
+        List<String> lines = new ArrayList<>(Arrays.asList(
+                "junit.jupiter.execution.parallel.config.strategy=fixed",
+                "junit.jupiter.execution.parallel.config.fixed.parallelism=2"));
+        lines.addAll(Arrays.asList(configuration));
+        Path file = configurationFile(dir, lines.toArray(new String[0]));
+        properties.setProperty(JUnit5Settings.CONFIGURATION_FILE, file.toString());
+        return new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties));
+    }
+
+    private static String uniqueIdOf(String method) {
+        return "[engine:junit-jupiter]/[class:" + TestClassWithSlowAndFastTests.class.getName() + "]/[method:" + method + "()]";
+    }
+
+    private static JUnit5TestUnitFinder excludingRunners(String... excludedRunners) {
+        return new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), JUnit5Settings.defaults(),
+                ClassloaderByteArraySource.fromContext(), asList(excludedRunners));
+    }
+
     private void findsAndRunsNTests(int n, Class<?> clazz) {
         findsAndRunsNTests(n, basicConfig(), clazz);
     }
@@ -400,6 +802,58 @@ class JUnit5TestUnitFinderTest {
         return new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList());
     }
 
+    private JUnit5TestUnitFinder discoveryOnly() {
+        return finderWith(JUnit5Settings.DISCOVERY_ONLY, "true");
+    }
+
+    private JUnit5TestUnitFinder discoveryCachedIn(Path cacheFile, ClassByteArraySource source) {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.DISCOVERY_ONLY, "true");
+        properties.setProperty(JUnit5Settings.DISCOVERY_CACHE, cacheFile.toString());
+        return new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties), source);
+    }
+
+    private static List<TestUnit> cachedUnits(DiscoveryCache cache, JUnit5TestUnitFinder finder, Class<?> clazz) {
+        return cache.units(clazz, finder.fingerprint(clazz),
+                uniqueId -> new DiscoveredJUnit5TestUnit(clazz, uniqueId));
+    }
+
+    private static ClassByteArraySource versionedBytes(String version) {
+        return name -> Optional.of((name + version).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JUnit5TestUnitFinder templateUnits() {
+        return finderWith(JUnit5Settings.TEMPLATE_UNITS, "true");
+    }
+
+    private static JUnit5TestUnitTest.TestResultCollector executeClassUnit(TestGroupConfig groups,
+            List<String> includedTestMethods, List<String> excludedRunners, Class<?> clazz) {
+        List<TestUnit> units = new JUnit5TestUnitFinder(groups, includedTestMethods,
+                settingsWith(JUnit5Settings.CLASS_UNITS, "*" + clazz.getSimpleName()),
+                ClassloaderByteArraySource.fromContext(), excludedRunners)
+                .findTestUnits(clazz, new NullExecutionListener());
+        assertThat(units).hasSize(1);
+        JUnit5TestUnitTest.TestResultCollector collector = new JUnit5TestUnitTest.TestResultCollector();
+
+        units.get(0).execute(collector);
+
+        return collector;
+    }
+
+    private JUnit5TestUnitFinder classUnitsFor(String pattern) {
+        return finderWith(JUnit5Settings.CLASS_UNITS, pattern);
+    }
+
+    private static JUnit5TestUnitFinder finderWith(String key, String value) {
+        return new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), settingsWith(key, value));
+    }
+
+    private static JUnit5Settings settingsWith(String key, String value) {
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        return new JUnit5Settings(properties);
+    }
+
 }
 
 class RecordingListener implements TestUnitExecutionListener {
@@ -20,8 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.pitest.junit5.cucumber.RunCucumberTest;
 import org.pitest.junit5.repository.TestClassWithAbortingTest;
 import org.pitest.junit5.repository.TestClassWithAfterAll;
 import org.pitest.junit5.repository.TestClassWithBeforeAll;
@@ -29,16 +34,22 @@ import org.pitest.junit5.repository.TestClassWithFailingAfterAll;
 import org.pitest.junit5.repository.TestClassWithFailingBeforeAll;
 import org.pitest.junit5.repository.TestClassWithFailingTest;
 import org.pitest.junit5.repository.TestClassWithInheritedTestMethod;
+import org.pitest.junit5.repository.TestClassWithMixedPassAndFail;
+import org.pitest.junit5.repository.TestClassWithMultiplePassingTests;
+import org.pitest.junit5.repository.TestClassWithParameterizedTestAnnotation;
 import org.pitest.junit5.repository.TestClassWithNestedAnnotationAndNestedTestAnnotation;
 import org.pitest.junit5.repository.TestClassWithNestedAnnotationAndNestedTestFactoryAnnotation;
 import org.pitest.junit5.repository.TestClassWithNestedAnnotationWithNestedAnnotationAndNestedTestAnnotation;
 import org.pitest.junit5.repository.TestClassWithNestedAnnotationWithNestedAnnotationAndNestedTestFactoryAnnotation;
 import org.pitest.junit5.repository.TestClassWithTestAnnotation;
 import org.pitest.junit5.repository.TestClassWithTestFactoryAnnotation;
+import org.pitest.junit5.repository.TestSpecWithMultiplePassingFeatures;
 import org.pitest.testapi.Description;
 import org.pitest.testapi.NullExecutionListener;
 import org.pitest.testapi.ResultCollector;
 import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
+import org.pitest.testapi.execute.ExitingResultCollector;
 
 /**
  *
@@ -173,6 +184,135 @@ class JUnit5TestUnitTest {
         assertThat(resultCollector.getFailure()).isPresent();
     }
 
+    @Test
+    void reportsEachTestOncePerExecutionWhenUnitsAreRunRepeatedly() {
+        List<TestUnit> units = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList())
+                .findTestUnits(TestClassWithTestAnnotation.class, new NullExecutionListener());
+
+        TestResultCollector first = new TestResultCollector();
+        units.forEach(testUnit -> testUnit.execute(first));
+        TestResultCollector second = new TestResultCollector();
+        units.forEach(testUnit -> testUnit.execute(second));
+
+        assertThat(first.getStarted()).hasSize(1);
+        assertThat(second.getStarted()).hasSize(1);
+        assertThat(second.getEnded()).hasSize(1);
+    }
+
+    @Test
+    void executesSpockFeatures() {
+        TestResultCollector resultCollector = findTestsIn(TestSpecWithMultiplePassingFeatures.class);
+
+        assertThat(resultCollector.getStarted()).hasSize(3);
+        assertThat(resultCollector.getEnded()).hasSize(3);
+        assertThat(resultCollector.getFailure()).isEmpty();
+    }
+
+    @Test
+    void executesCucumberScenarios() {
+        TestResultCollector resultCollector = findTestsIn(RunCucumberTest.class);
+
+        assertThat(resultCollector.getStarted()).hasSize(1);
+        assertThat(resultCollector.getEnded()).hasSize(1);
+        assertThat(resultCollector.getFailure()).isEmpty();
+    }
+
+    @Test
+    void classUnitsReportEachTest() {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.CLASS_UNITS, "*TestClassWithMultiplePassingTests");
+        List<TestUnit> units = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties))
+                .findTestUnits(TestClassWithMultiplePassingTests.class, new NullExecutionListener());
+        TestResultCollector resultCollector = new TestResultCollector();
+
+        units.forEach(testUnit -> testUnit.execute(resultCollector));
+
+        assertThat(units).hasSize(1);
+        assertThat(resultCollector.getStarted()).hasSize(3);
+        assertThat(resultCollector.getEnded()).hasSize(3);
+    }
+
+    @Test
+    void requestsCancellationOnceResultCollectorShouldExit() {
+        AtomicInteger cancellations = new AtomicInteger();
+        ResultCollectorListener listener = new ResultCollectorListener(
+                new ExitingResultCollector(new TestResultCollector()),
+                uniqueId -> new Description(uniqueId, TestClassWithMixedPassAndFail.class),
+                cancellations::incrementAndGet);
+
+        SharedLauncher.launcher().execute(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClass(TestClassWithMixedPassAndFail.class))
+                .build(), listener);
+
+        assertThat(cancellations).hasValue(1);
+    }
+
+    @Test
+    void skipsRemainingJupiterTestsOfClassUnitOnceResultCollectorShouldExit() {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.CLASS_UNITS, "*TestClassWithMixedPassAndFail");
+        TestResultCollector resultCollector = new TestResultCollector();
+        new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties))
+                .findTestUnits(TestClassWithMixedPassAndFail.class, new NullExecutionListener())
+                .forEach(testUnit -> testUnit.execute(new ExitingResultCollector(resultCollector)));
+
+        assertThat(resultCollector.getFailure()).isPresent();
+        assertThat(resultCollector.getSkipped()).isNotEmpty();
+        assertThat(resultCollector.getStarted().size() + resultCollector.getSkipped().size()).isEqualTo(4);
+    }
+
+    @Test
+    void runsUnitsWhenResultCollectorShouldExit() {
+        TestResultCollector resultCollector = new TestResultCollector();
+        new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList())
+                .findTestUnits(TestClassWithFailingTest.class, new NullExecutionListener())
+                .forEach(testUnit -> testUnit.execute(new ExitingResultCollector(resultCollector)));
+
+        assertThat(resultCollector.getFailure()).isPresent();
+    }
+
+    @Test
+    void runsEachInvocationOfTemplatesFoundInDiscoveryOnlyMode() {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.DISCOVERY_ONLY, "true");
+        List<TestUnit> units = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties))
+                .findTestUnits(TestClassWithParameterizedTestAnnotation.class, new NullExecutionListener());
+        TestResultCollector resultCollector = new TestResultCollector();
+
+        units.forEach(testUnit -> testUnit.execute(resultCollector));
+
+        assertThat(units).hasSize(2);
+        assertThat(resultCollector.getStarted()).hasSize(4);
+        assertThat(resultCollector.getEnded()).hasSize(4);
+    }
+
+    @Test
+    void runsEachInvocationOfTemplateUnits() {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.TEMPLATE_UNITS, "true");
+        List<TestUnit> units = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties))
+                .findTestUnits(TestClassWithParameterizedTestAnnotation.class, new NullExecutionListener());
+        TestResultCollector resultCollector = new TestResultCollector();
+
+        units.forEach(testUnit -> testUnit.execute(resultCollector));
+
+        assertThat(units).hasSize(2);
+        assertThat(resultCollector.getStarted()).hasSize(4);
+        assertThat(resultCollector.getEnded()).hasSize(4);
+    }
+
+    @Test
+    void reportsTestWithTheDescriptionOfItsUnit() {
+        TestResultCollector resultCollector = new TestResultCollector();
+        TestUnit unit = new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList())
+                .findTestUnits(TestClassWithTestAnnotation.class, new NullExecutionListener()).get(0);
+
+        unit.execute(resultCollector);
+
+        assertThat(resultCollector.getStarted().get(0)).isSameAs(unit.getDescription());
+        assertThat(resultCollector.getEnded().get(0)).isSameAs(unit.getDescription());
+    }
+
     private TestResultCollector findTestsIn(Class<?> clazz) {
       TestResultCollector resultCollector = new TestResultCollector();
       new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList()).findTestUnits(clazz, new NullExecutionListener())
@@ -181,7 +321,7 @@ class JUnit5TestUnitTest {
       return resultCollector;
     }
 
-    private static class TestResultCollector implements ResultCollector {
+    static class TestResultCollector implements ResultCollector {
 
       private final List<Description> skipped = new ArrayList<>();
       private final List<Description> started = new ArrayList<>();
@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pitest.junit5.JUnit5TestUnitTest.TestResultCollector;
+import org.pitest.junit5.repository.TestClassWithFailingBeforeAll;
+import org.pitest.junit5.repository.TestClassWithMultiplePassingTests;
+import org.pitest.testapi.NullExecutionListener;
+import org.pitest.testapi.TestGroupConfig;
+import org.pitest.testapi.TestUnit;
+
+class MetricsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsLauncherClassesAndTestsAsJsonLines() throws IOException {
+        Path file = dir.resolve("metrics.jsonl");
+        List<TestUnit> units = finderRecordingTo(file)
+                .findTestUnits(TestClassWithMultiplePassingTests.class, new NullExecutionListener());
+        units.forEach(unit -> unit.execute(new TestResultCollector()));
+        Metrics.open(file).flush();
+
+        List<String> lines = Files.readAllLines(file);
+        String className = TestClassWithMultiplePassingTests.class.getName();
+        assertThat(lines).filteredOn(line -> line.startsWith("{\"event\":\"launcher\"")).hasSize(1);
+        assertThat(lines).filteredOn(line -> line.startsWith("{\"event\":\"class\""))
+                .hasSize(1)
+                .allMatch(line -> line.contains("\"class\":\"" + className + "\"") && line.contains("\"units\":3")
+                        && line.contains("\"nanos\":"));
+        assertThat(lines).filteredOn(line -> line.startsWith("{\"event\":\"test\",\"phase\":\"discovery\""))
+                .hasSize(3)
+                .allMatch(line -> line.contains("\"engine\":\"junit-jupiter\"") && line.contains("\"status\":\"SUCCESSFUL\""));
+        assertThat(lines).filteredOn(line -> line.startsWith("{\"event\":\"test\",\"phase\":\"execution\""))
+                .hasSize(3);
+    }
+
+    @Test
+    void recordsFailingContainersAsCsv() throws IOException {
+        Path file = dir.resolve("metrics.csv");
+        finderRecordingTo(file).findTestUnits(TestClassWithFailingBeforeAll.class, new NullExecutionListener());
+        Metrics.open(file).flush();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.get(0)).isEqualTo("\"event\",\"phase\",\"class\",\"engine\",\"uniqueId\",\"status\",\"units\",\"nanos\"");
+        assertThat(lines).anyMatch(line -> line.startsWith("\"container\",\"discovery\",\""
+                + TestClassWithFailingBeforeAll.class.getName() + "\",\"junit-jupiter\","));
+    }
+
+    @Test
+    void appendsToExistingRecords() throws IOException {
+        Path file = dir.resolve("metrics.csv");
+        JUnit5TestUnitFinder finder = finderRecordingTo(file);
+        finder.findTestUnits(TestClassWithMultiplePassingTests.class, new NullExecutionListener());
+        Metrics.open(file).flush();
+        finder.findTestUnits(TestClassWithMultiplePassingTests.class, new NullExecutionListener());
+        Metrics.open(file).flush();
+
+        assertThat(Files.readAllLines(file)).filteredOn(line -> line.startsWith("\"event\"")).hasSize(1);
+        assertThat(Files.readAllLines(file)).filteredOn(line -> line.startsWith("\"class\"")).hasSize(2);
+    }
+
+    private static JUnit5TestUnitFinder finderRecordingTo(Path file) {
+        Properties properties = new Properties();
+        properties.setProperty(JUnit5Settings.METRICS_FILE, file.toString());
+        return new JUnit5TestUnitFinder(new TestGroupConfig(), emptyList(), new JUnit5Settings(properties));
+    }
+
+}
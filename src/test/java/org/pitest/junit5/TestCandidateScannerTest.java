@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and limitations under the License.
+ */
+package org.pitest.junit5;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.pitest.classpath.ClassloaderByteArraySource;
+import org.pitest.junit5.repository.TestClassSuiteSelectingClasses;
+import org.pitest.junit5.repository.TestClassWithInheritedTestMethod;
+import org.pitest.junit5.repository.TestClassWithMetaAnnotatedTest;
+import org.pitest.junit5.repository.TestClassWithNestedAnnotationAndNestedTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithNestedClassWithoutAnnotations;
+import org.pitest.junit5.repository.TestClassWithTestAnnotation;
+import org.pitest.junit5.repository.TestClassWithoutAnnotations;
+
+class TestCandidateScannerTest {
+
+    private final TestCandidateScanner underTest = new TestCandidateScanner(TestCandidateScanner.KNOWN_ENGINES,
+            ClassloaderByteArraySource.fromContext());
+
+    @Test
+    void acceptsClassesWithTestsDeclaredInheritedOrNested() {
+        assertThat(underTest.mayContainTests(TestClassWithTestAnnotation.class)).isTrue();
+        assertThat(underTest.mayContainTests(TestClassWithInheritedTestMethod.class)).isTrue();
+        assertThat(underTest.mayContainTests(TestClassWithNestedAnnotationAndNestedTestAnnotation.class)).isTrue();
+    }
+
+    @Test
+    void acceptsTestsMarkedWithMetaAnnotations() {
+        assertThat(underTest.mayContainTests(TestClassWithMetaAnnotatedTest.class)).isTrue();
+    }
+
+    @Test
+    void acceptsSpockSpecifications() throws ClassNotFoundException {
+        assertThat(underTest.mayContainTests(Class.forName("org.pitest.junit5.repository.TestSpecWithoutFeatures"))).isTrue();
+    }
+
+    @Test
+    void rejectsClassesWithoutTestAnnotations() {
+        assertThat(underTest.mayContainTests(TestClassWithoutAnnotations.class)).isFalse();
+        assertThat(underTest.mayContainTests(TestClassWithNestedClassWithoutAnnotations.class)).isFalse();
+        assertThat(underTest.mayContainTests(Helper.class)).isFalse();
+    }
+
+    @Test
+    void selectsEnginesByAnnotationsAndSupertypes() throws ClassNotFoundException {
+        assertThat(underTest.enginesFor(TestClassWithTestAnnotation.class)).containsExactly("junit-jupiter");
+        assertThat(underTest.enginesFor(TestClassWithMetaAnnotatedTest.class)).containsExactly("junit-jupiter");
+        assertThat(underTest.enginesFor(Class.forName("org.pitest.junit5.repository.TestSpec"))).contains("spock")
+                .doesNotContain("junit-jupiter");
+        assertThat(underTest.enginesFor(TestClassSuiteSelectingClasses.class)).contains("junit-platform-suite");
+        assertThat(underTest.enginesFor(Testable.class)).isNull();
+    }
+
+    @Test
+    void selectsOnlyAvailableEngines() {
+        TestCandidateScanner scanner = new TestCandidateScanner(asList("spock"), ClassloaderByteArraySource.fromContext());
+
+        assertThat(scanner.enginesFor(TestClassWithTestAnnotation.class)).isEmpty();
+        assertThat(scanner.mayContainTests(TestClassWithTestAnnotation.class)).isFalse();
+    }
+
+    @Test
+    void acceptsClassesWhoseBytecodeCannotBeRead() {
+        TestCandidateScanner scanner = new TestCandidateScanner(TestCandidateScanner.KNOWN_ENGINES, name -> Optional.empty());
+
+        assertThat(scanner.mayContainTests(TestClassWithoutAnnotations.class)).isTrue();
+    }
+
+    @Test
+    void isNotUsedWhenUnknownEnginesArePresent() {
+        assertThat(TestCandidateScanner.forEngines(asList("junit-jupiter", "spock"), ClassloaderByteArraySource.fromContext()))
+                .isNotNull();
+        assertThat(TestCandidateScanner.forEngines(asList("junit-jupiter", "jqwik"), ClassloaderByteArraySource.fromContext()))
+                .isNull();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+    }
+
+    static class Testable {
+        @org.junit.platform.commons.annotation.Testable
+        void test() {
+        }
+    }
+
+    @Marker
+    static class Helper {
+        @Marker
+        void help() {
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package org.pitest.junit5.repository;
+
+import org.junit.Test;
+
+public class TestClassJUnit4 {
+
+    @Test
+    public void test() {
+
+    }
+
+    @Test
+    public void otherTest() {
+
+    }
+
+}
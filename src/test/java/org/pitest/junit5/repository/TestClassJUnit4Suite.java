@@ -0,0 +1,11 @@
+package org.pitest.junit5.repository;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses(TestClassJUnit4.class)
+public class TestClassJUnit4Suite {
+
+}
@@ -0,0 +1,12 @@
+package org.pitest.junit5.repository;
+
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
+
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("org/pitest/junit5/cucumber")
+public class TestClassSuiteOfFeatures {
+
+}
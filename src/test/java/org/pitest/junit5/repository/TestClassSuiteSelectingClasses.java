@@ -0,0 +1,10 @@
+package org.pitest.junit5.repository;
+
+import org.junit.platform.suite.api.SelectClasses;
+import org.junit.platform.suite.api.Suite;
+
+@Suite
+@SelectClasses({TestClassWithTestAnnotation.class, TestClassWithMultiplePassingTests.class})
+public class TestClassSuiteSelectingClasses {
+
+}
@@ -0,0 +1,10 @@
+package org.pitest.junit5.repository;
+
+import org.junit.platform.suite.api.SelectPackages;
+import org.junit.platform.suite.api.Suite;
+
+@Suite
+@SelectPackages("org.pitest.junit5.repository.suite")
+public class TestClassSuiteSelectingPackage {
+
+}
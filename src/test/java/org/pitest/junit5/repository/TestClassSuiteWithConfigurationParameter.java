@@ -0,0 +1,12 @@
+package org.pitest.junit5.repository;
+
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.SelectClasses;
+import org.junit.platform.suite.api.Suite;
+
+@Suite
+@SelectClasses(TestClassWithDisabledTest.class)
+@ConfigurationParameter(key = "junit.jupiter.conditions.deactivate", value = "org.junit.*DisabledCondition")
+public class TestClassSuiteWithConfigurationParameter {
+
+}
@@ -0,0 +1,12 @@
+package org.pitest.junit5.repository;
+
+import org.junit.platform.suite.api.IncludeTags;
+import org.junit.platform.suite.api.SelectClasses;
+import org.junit.platform.suite.api.Suite;
+
+@Suite
+@SelectClasses(TestClassWithTags.class)
+@IncludeTags("included")
+public class TestClassSuiteWithTagFilter {
+
+}
@@ -0,0 +1,36 @@
+package org.pitest.junit5.repository;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * Each test waits for the other to start, so both pass only when run at the same time.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+public class TestClassWithConcurrentTests {
+
+    private static CountDownLatch started;
+
+    @BeforeAll
+    static void createLatch() {
+        started = new CountDownLatch(2);
+    }
+
+    @Test
+    void testOne() throws InterruptedException {
+        started.countDown();
+        Assertions.assertTrue(started.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testTwo() throws InterruptedException {
+        started.countDown();
+        Assertions.assertTrue(started.await(500, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,13 @@
+package org.pitest.junit5.repository;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+public class TestClassWithDisabledTest {
+
+    @Test
+    @Disabled
+    void disabledTest() {
+
+    }
+}
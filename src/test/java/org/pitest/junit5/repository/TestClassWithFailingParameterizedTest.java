@@ -0,0 +1,21 @@
+package org.pitest.junit5.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class TestClassWithFailingParameterizedTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void parameterizedTest(int value) {
+        assertNotEquals(2, value);
+    }
+
+    @Test
+    void passingTest() {
+
+    }
+}
@@ -0,0 +1,22 @@
+package org.pitest.junit5.repository;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+public class TestClassWithManyDynamicTests {
+
+    public static final int TESTS = 100_000;
+
+    public static final int FAILING_EVERY = 10;
+
+    @TestFactory
+    Stream<DynamicTest> manyTests() {
+        return IntStream.range(0, TESTS)
+                .mapToObj(i -> DynamicTest.dynamicTest("test " + i,
+                        () -> Assertions.assertNotEquals(0, i % FAILING_EVERY)));
+    }
+}
@@ -0,0 +1,20 @@
+package org.pitest.junit5.repository;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.junit.jupiter.api.Test;
+
+public class TestClassWithMetaAnnotatedTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Test
+    public @interface MetaTest {
+    }
+
+    @MetaTest
+    public void test() {
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.pitest.junit5.repository;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TestClassWithSlowAndFastTests {
+
+    @Test
+    @Order(1)
+    void slowTest() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    @Test
+    @Order(2)
+    void fastTest() {
+
+    }
+}
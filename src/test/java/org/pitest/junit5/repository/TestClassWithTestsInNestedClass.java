@@ -0,0 +1,28 @@
+package org.pitest.junit5.repository;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+public class TestClassWithTestsInNestedClass {
+
+    @Test
+    public void test() {
+
+    }
+
+    @Nested
+    public class Slow {
+
+        @Test
+        public void slowTest() {
+
+        }
+
+        @Test
+        public void otherSlowTest() {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,11 @@
+package org.pitest.junit5.repository.suite;
+
+import org.junit.jupiter.api.Test;
+
+public class TestClassInSuitePackage {
+
+    @Test
+    void test() {
+
+    }
+}